@@ -0,0 +1,138 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Scripted in-memory WebDriver for measuring framework overhead without a browser.
+ *
+ * <p>Every locator resolves to one {@link FakeWebElement} per {@code By}. Scripts
+ * injected by the framework (page settle probe, fallback locator, batched fill,
+ * ready condition) get canned answers that let the page objects proceed; other scripts can be
+ * answered through {@link #onScript(BiFunction)}.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final Map<String, FakeWebElement> elements = new ConcurrentHashMap<>();
+    private BiFunction<String, Object[], Object> scriptHandler = (script, args) -> null;
+    private long commands;
+
+    public FakeWebDriver onScript(BiFunction<String, Object[], Object> handler) {
+        this.scriptHandler = handler;
+        return this;
+    }
+
+    /**
+     * @return the element every lookup of {@code by} resolves to
+     */
+    public FakeWebElement element(By by) {
+        return elements.computeIfAbsent(by.toString(), FakeWebElement::new);
+    }
+
+    /**
+     * @return number of commands (lookups and scripts) the framework issued, i.e.
+     * what would have been WebDriver HTTP round trips against a real browser
+     */
+    public long commandCount() {
+        return commands;
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        commands++;
+        if (script.contains("__hlQuiet")) {
+            return Map.of("readyState", "complete", "pending", 0L, "quietMs", Long.MAX_VALUE);
+        }
+        if (script.contains("strategies")) {
+            return List.of(0L, element(By.xpath("fallback")));
+        }
+        if (script.contains("rejected")) {
+            return List.of();
+        }
+        if (script.contains("elementFromPoint")) {
+            if (args[0] != null) {
+                return Map.of("state", "ready");
+            }
+            By by = "xpath".equals(args[1]) ? By.xpath((String) args[2]) : By.cssSelector((String) args[2]);
+            return Map.of("state", "ready", "element", element(by));
+        }
+        return scriptHandler.apply(script, args);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        commands++;
+        return element(by);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        commands++;
+        return List.of(element(by));
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "HomeLane";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo is not supported by the fake driver");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate is not supported by the fake driver");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage is not supported by the fake driver");
+    }
+}
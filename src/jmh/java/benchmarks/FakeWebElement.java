@@ -0,0 +1,127 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * In-memory element that is always present. It can be scripted to become visible
+ * only after a number of {@link #isDisplayed()} calls, to exercise wait polling.
+ */
+public class FakeWebElement implements WebElement {
+
+    private final String locator;
+    private final StringBuilder value = new StringBuilder();
+    private int hiddenPolls;
+
+    public FakeWebElement(String locator) {
+        this.locator = locator;
+    }
+
+    /**
+     * Makes the next {@code polls} visibility checks report the element as hidden.
+     */
+    public FakeWebElement hideFor(int polls) {
+        this.hiddenPolls = polls;
+        return this;
+    }
+
+    @Override
+    public void click() {
+    }
+
+    @Override
+    public void submit() {
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+    }
+
+    @Override
+    public void clear() {
+        value.setLength(0);
+    }
+
+    @Override
+    public String getTagName() {
+        return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return "value".equals(name) ? value.toString() : null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return value.toString();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return List.of(new FakeWebElement(by.toString()));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return new FakeWebElement(by.toString());
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        if (hiddenPolls > 0) {
+            hiddenPolls--;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("Screenshots are not supported by the fake driver");
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebElement[" + locator + "]";
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pageObject.BannerFormPage;
+import pageObject.MeetingSchedulePage;
+import pageObject.PlanningOptionsPage;
+import utilis.StepMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the page objects themselves: PageFactory proxy creation in the
+ * constructors and complete actions (waits, proxy lookups, logging, step
+ * recording) against a driver that answers instantly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dlogback.configurationFile=logback-bench.xml",
+        "-DSTEP_HISTORY_FILE=target/bench-step-history.json"})
+@State(Scope.Thread)
+public class PageObjectBenchmark {
+
+    private FakeWebDriver driver;
+    private BannerFormPage bannerFormPage;
+    private PlanningOptionsPage planningOptionsPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new FakeWebDriver();
+        bannerFormPage = new BannerFormPage(driver);
+        planningOptionsPage = new PlanningOptionsPage(driver);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetMetrics() {
+        // The registry keeps every sample; clear it so it does not grow across iterations
+        StepMetrics.reset();
+    }
+
+    @Benchmark
+    public Object createBannerFormPage() {
+        return new BannerFormPage(driver);
+    }
+
+    @Benchmark
+    public Object createMeetingSchedulePage() {
+        return new MeetingSchedulePage(driver);
+    }
+
+    @Benchmark
+    public void enterName() {
+        bannerFormPage.enterName("testrama");
+    }
+
+    @Benchmark
+    public void clickSubmitWithSettleWait() {
+        bannerFormPage.clickSubmit();
+    }
+
+    @Benchmark
+    public void selectBudget() {
+        planningOptionsPage.selectBudget();
+    }
+}
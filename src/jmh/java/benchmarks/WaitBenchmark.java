@@ -0,0 +1,95 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utilis.AdaptiveTimeouts;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of locator resolution and ExpectedConditions polling, separated from the
+ * page objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dlogback.configurationFile=logback-bench.xml",
+        "-DSTEP_HISTORY_FILE=target/bench-step-history.json"})
+@State(Scope.Thread)
+public class WaitBenchmark {
+
+    private static final By NAME_INPUT = By.cssSelector("#bfc-form-container input[placeholder='Enter your name']");
+
+    /**
+     * Holder for a PageFactory proxy, like the fields of the page objects.
+     */
+    public static class ProxyHolder {
+        @FindBy(css = "#bfc-form-container input[placeholder='Enter your name']")
+        public WebElement nameInput;
+    }
+
+    private FakeWebDriver driver;
+    private ProxyHolder holder;
+
+    @Setup
+    public void setUp() {
+        driver = new FakeWebDriver();
+        holder = new ProxyHolder();
+        PageFactory.initElements(driver, holder);
+    }
+
+    @Benchmark
+    public Object directLookup() {
+        return driver.findElement(NAME_INPUT).isDisplayed();
+    }
+
+    @Benchmark
+    public Object proxyLookup() {
+        return holder.nameInput.isDisplayed();
+    }
+
+    @Benchmark
+    public Object clickableConditionOnProxy() {
+        return ExpectedConditions.elementToBeClickable(holder.nameInput).apply(driver);
+    }
+
+    @Benchmark
+    public Object clickableConditionByLocator() {
+        return ExpectedConditions.elementToBeClickable(NAME_INPUT).apply(driver);
+    }
+
+    @Benchmark
+    public Object waitUntilClickable() {
+        return new WebDriverWait(driver, Duration.ofSeconds(10))
+                .until(ExpectedConditions.elementToBeClickable(holder.nameInput));
+    }
+
+    @Benchmark
+    public Object pollThreeTimesUntilVisible() {
+        driver.element(NAME_INPUT).hideFor(3);
+        return new WebDriverWait(driver, Duration.ofSeconds(10), Duration.ZERO)
+                .until(ExpectedConditions.visibilityOf(holder.nameInput));
+    }
+
+    @Benchmark
+    public Object adaptiveWaitCreation() {
+        return AdaptiveTimeouts.waitFor(driver, "BannerFormPage.enterName");
+    }
+}
@@ -0,0 +1,20 @@
+package api;
+
+import java.util.Map;
+
+/**
+ * Drives the funnel over HTTP instead of through the browser. Implementations
+ * can talk to the real site or to a local stub server.
+ */
+public interface FunnelApiClient {
+
+    /**
+     * Creates a signed-up lead, the equivalent of submitting the banner form with a valid OTP.
+     */
+    FunnelState createLead(Map<String, Object> lead);
+
+    /**
+     * Saves the answers of one funnel step for the lead, updating its client-side state.
+     */
+    void submitStep(FunnelState state, FunnelStep step, Map<String, Object> answers);
+}
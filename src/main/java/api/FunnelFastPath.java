@@ -0,0 +1,95 @@
+package api;
+
+import configurator.BaseClass;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utilis.StepMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Seeds every funnel step before the one under test over HTTP, injects the resulting
+ * session into the browser and opens the funnel directly at the target step, so a
+ * single page object can be tested without clicking through the earlier pages.
+ *
+ * <p>The browser path of each step comes from FUNNEL_&lt;STEP&gt;_PATH, e.g.
+ * FUNNEL_MEETING_SCHEDULE_PATH; without it the application URL is reloaded and the
+ * site is expected to resume the funnel from the injected state.
+ */
+public final class FunnelFastPath {
+
+    private static final Logger logger = LoggerFactory.getLogger(FunnelFastPath.class);
+
+    private FunnelFastPath() {
+    }
+
+    /**
+     * Answers given for the steps that are seeded over HTTP. The defaults match
+     * the choices BannerSignInTest makes in the browser.
+     */
+    public static class FunnelAnswers {
+        private final Map<String, Object> lead = new LinkedHashMap<>();
+        private final Map<String, Object> property = new LinkedHashMap<>();
+        private final Map<String, Object> planning = new LinkedHashMap<>();
+
+        public FunnelAnswers(String name, String phoneNumber, String otp) {
+            lead.put("name", name);
+            lead.put("phone", phoneNumber);
+            lead.put("otp", otp);
+            lead.put("city", FrameworkConfig.getString("FUNNEL_CITY", "Bangalore"));
+            property.put("propertyType", "Apartment");
+            property.put("bhk", "2BHK");
+            property.put("propertyName", "TestYantra Software Solutions, Somajiguda, Hyderabad, Telangana, India");
+            planning.put("purpose", "Rent Out");
+            planning.put("interiorsType", "End-to-end Interiors");
+            planning.put("budget", 2);
+            planning.put("possessionMonth", 1);
+        }
+
+        public Map<String, Object> lead() {
+            return lead;
+        }
+
+        public Map<String, Object> property() {
+            return property;
+        }
+
+        public Map<String, Object> planning() {
+            return planning;
+        }
+    }
+
+    /**
+     * Creates the lead and saves every step before {@code target} over HTTP, then
+     * opens {@code target} in the browser with the lead's session.
+     *
+     * @return the seeded funnel state
+     */
+    public static FunnelState openAt(WebDriver driver, FunnelStep target, FunnelApiClient client, FunnelAnswers answers) {
+        long start = System.nanoTime();
+        FunnelState state = client.createLead(answers.lead());
+        if (target.compareTo(FunnelStep.PLANNING_OPTIONS) >= 0) {
+            client.submitStep(state, FunnelStep.PROPERTY_DETAILS, answers.property());
+        }
+        if (target.compareTo(FunnelStep.MEETING_SCHEDULE) >= 0) {
+            client.submitStep(state, FunnelStep.PLANNING_OPTIONS, answers.planning());
+        }
+
+        String appUrl = BaseClass.getUrl();
+        if (!driver.getCurrentUrl().startsWith(appUrl)) {
+            driver.get(appUrl);
+        }
+        state.toBrowserSession().applyTo(driver);
+
+        String path = FrameworkConfig.getString(target.pathSetting(), null);
+        driver.get(path == null ? appUrl : appUrl.replaceAll("/+$", "") + "/" + path.replaceAll("^/+", ""));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        StepMetrics.record("FunnelFastPath", "openAt" + target.name(), elapsedMillis);
+        logger.info("Opened funnel at {} for lead {} in {} ms", target, state.getLeadId(), elapsedMillis);
+        return state;
+    }
+}
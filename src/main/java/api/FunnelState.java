@@ -0,0 +1,50 @@
+package api;
+
+import configurator.BrowserSession;
+import org.openqa.selenium.Cookie;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-side lead created through a {@link FunnelApiClient} plus the client-side
+ * state (cookies and web storage) a browser needs to continue that lead.
+ */
+public class FunnelState {
+
+    private final String leadId;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+    private final Map<String, String> localStorage = new LinkedHashMap<>();
+    private final Map<String, String> sessionStorage = new LinkedHashMap<>();
+
+    public FunnelState(String leadId) {
+        this.leadId = leadId;
+    }
+
+    public String getLeadId() {
+        return leadId;
+    }
+
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    /**
+     * @return the state as a browser session; cookies are host-only cookies on path /
+     */
+    public BrowserSession toBrowserSession() {
+        List<Cookie> browserCookies = new ArrayList<>();
+        cookies.forEach((name, value) -> browserCookies.add(new Cookie(name, value, "/")));
+        return new BrowserSession(browserCookies, localStorage, sessionStorage);
+    }
+}
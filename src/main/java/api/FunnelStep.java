@@ -0,0 +1,19 @@
+package api;
+
+/**
+ * Steps of the BFC sign-up funnel, in order. Each step has a page in the browser
+ * and, except for the banner form, can be seeded over HTTP by a {@link FunnelApiClient}.
+ */
+public enum FunnelStep {
+    BANNER_FORM,
+    PROPERTY_DETAILS,
+    PLANNING_OPTIONS,
+    MEETING_SCHEDULE;
+
+    /**
+     * @return the setting that holds the browser path of this step, e.g. FUNNEL_MEETING_SCHEDULE_PATH
+     */
+    public String pathSetting() {
+        return "FUNNEL_" + name() + "_PATH";
+    }
+}
@@ -0,0 +1,138 @@
+package api;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link FunnelApiClient} that posts JSON to the funnel endpoints.
+ *
+ * <p>The lead is posted as the {@code FunnelAnswers.lead()} object and every step as its
+ * answers object. This is the client's own contract, not one taken from the live site,
+ * so the endpoints have no defaults: point the settings at a stub server or an adapter
+ * that speaks it. The lead endpoint must answer with a JSON object containing
+ * {@code leadId} and may add {@code localStorage} and {@code sessionStorage} objects;
+ * cookies set by any response are carried over to the browser. Any non-2xx answer
+ * fails the call.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>FUNNEL_API_BASE_URL - base URL of the API or of a local stub server; unset disables the client</li>
+ *     <li>FUNNEL_API_LEAD_PATH - lead endpoint, required with a base URL</li>
+ *     <li>FUNNEL_API_STEP_PATH - step endpoint, {leadId} and {step} are replaced, required with a base URL</li>
+ * </ul>
+ */
+public class HttpFunnelApiClient implements FunnelApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpFunnelApiClient.class);
+
+    private final URI baseUri;
+    private final String leadPath;
+    private final String stepPath;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient http;
+    private final Json json = new Json();
+
+    /**
+     * @throws IllegalArgumentException when a path is missing
+     */
+    public HttpFunnelApiClient(String baseUrl, String leadPath, String stepPath) {
+        if (leadPath == null || leadPath.isBlank()) {
+            throw new IllegalArgumentException("FUNNEL_API_LEAD_PATH is required when FUNNEL_API_BASE_URL is set");
+        }
+        if (stepPath == null || stepPath.isBlank()) {
+            throw new IllegalArgumentException("FUNNEL_API_STEP_PATH is required when FUNNEL_API_BASE_URL is set");
+        }
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.leadPath = leadPath;
+        this.stepPath = stepPath;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * @return a client for FUNNEL_API_BASE_URL, or null when it is not configured
+     * @throws IllegalArgumentException when the base URL is set but an endpoint path is not
+     */
+    public static HttpFunnelApiClient fromConfig() {
+        String baseUrl = FrameworkConfig.getString("FUNNEL_API_BASE_URL", null);
+        return baseUrl == null ? null : new HttpFunnelApiClient(baseUrl,
+                FrameworkConfig.getString("FUNNEL_API_LEAD_PATH", null),
+                FrameworkConfig.getString("FUNNEL_API_STEP_PATH", null));
+    }
+
+    @Override
+    public FunnelState createLead(Map<String, Object> lead) {
+        Map<String, Object> response = post(leadPath, lead);
+        Object leadId = response.get("leadId");
+        if (leadId == null) {
+            throw new IllegalStateException("Lead endpoint did not return a leadId: " + response);
+        }
+        FunnelState state = new FunnelState(String.valueOf(leadId));
+        update(state, response);
+        logger.info("Lead {} created over HTTP", state.getLeadId());
+        return state;
+    }
+
+    @Override
+    public void submitStep(FunnelState state, FunnelStep step, Map<String, Object> answers) {
+        String path = stepPath
+                .replace("{leadId}", state.getLeadId())
+                .replace("{step}", step.name().toLowerCase(Locale.ROOT));
+        update(state, post(path, answers));
+        logger.info("Step {} of lead {} saved over HTTP", step, state.getLeadId());
+    }
+
+    private Map<String, Object> post(String path, Map<String, Object> body) {
+        URI uri = baseUri.resolve(path.startsWith("/") ? path.substring(1) : path);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body)))
+                .build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("POST " + uri + " failed with HTTP " + response.statusCode()
+                        + ": " + response.body());
+            }
+            String responseBody = response.body();
+            return responseBody == null || responseBody.isBlank() ? Map.of() : json.toType(responseBody, Json.MAP_TYPE);
+        } catch (IOException e) {
+            throw new IllegalStateException("POST " + uri + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during POST " + uri, e);
+        }
+    }
+
+    private void update(FunnelState state, Map<String, Object> response) {
+        for (HttpCookie cookie : cookies.getCookieStore().getCookies()) {
+            state.getCookies().put(cookie.getName(), cookie.getValue());
+        }
+        copyEntries(response.get("localStorage"), state.getLocalStorage());
+        copyEntries(response.get("sessionStorage"), state.getSessionStorage());
+    }
+
+    private static void copyEntries(Object source, Map<String, String> target) {
+        if (source instanceof Map<?, ?> entries) {
+            entries.forEach((key, value) -> target.put(String.valueOf(key),
+                    value instanceof String text ? text : new Json().toJson(value)));
+        }
+    }
+}
@@ -2,17 +2,18 @@ package configurator;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Listeners;
+import utilis.PerformanceMetrics;
 
-import java.time.Duration;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+@Listeners({SuiteMetricsListener.class, LoggingContextListener.class, DriverLifecycleListener.class,
+        DurationSharder.class})
 public class BaseClass {
 
-    public WebDriver driver;
     public static String envName;
-    public String url;
     public static final Dotenv dotenv = loadDotenv();
 
     private static Dotenv loadDotenv() {
@@ -29,28 +30,74 @@ public class BaseClass {
         return base;
     }
 
-    public void initializeDriver() {
-
-        url = dotenv.get("URL");
+    /**
+     * @return the application URL from the selected env file
+     */
+    public static String getUrl() {
+        String url = dotenv.get("URL");
 
         if (url == null || url.isEmpty()) {
-          url = dotenv.get("URL");
+            throw new RuntimeException("❌ URL is missing. Define 'URL' in the selected env file or legacy 'PREPROD_URL/PROD_URL'. ENVIRONMENT = " + envName);
         }
+        return url;
+    }
 
-        if (url == null || url.isEmpty()) {
-            throw new RuntimeException("❌ URL is missing. Define 'URL' in the selected env file or legacy 'PREPROD_URL/PROD_URL'. ENVIRONMENT = " + envName);
+    /**
+     * @return the driver owned by the calling test thread
+     */
+    public WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * Starts launching pooled browsers before the first test asks for one.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpBrowserPool() {
+        if (BrowserPool.isEnabled()) {
+            BrowserPool.getInstance().warmUp();
+        }
+    }
+
+    /**
+     * Drops session snapshots that can no longer be restored.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void evictExpiredSessions() {
+        if (SessionSnapshotCache.isEnabled()) {
+            SessionSnapshotCache.getInstance().evictExpired();
         }
+    }
+
+    public void initializeDriver() {
+
+        if (BrowserPool.isEnabled()) {
+            DriverManager.setDriver(BrowserPool.getInstance().acquire());
+        } else {
+            String url = getUrl();
 
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            WebDriver driver = DriverManager.createDriver();
+            DriverManager.setDriver(driver);
 
-        driver.get(url);
+            driver.get(url);
+        }
+        if (PerformanceMetrics.isEnabled()) {
+            PerformanceMetrics.capture(getDriver(), "BaseClass.initializeDriver");
+        }
+    }
+
+    /**
+     * Opens a browser already signed in as the given user when a valid session
+     * snapshot exists for it.
+     *
+     * @return true when the session was restored, false when the test has to sign in itself
+     */
+    public boolean initializeDriverWithSession(String user) {
+        initializeDriver();
+        return SessionSnapshotCache.isEnabled() && SessionSnapshotCache.getInstance().restore(getDriver(), user);
     }
 
     public void closeDriver() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverManager.releaseDriver();
     }
 }
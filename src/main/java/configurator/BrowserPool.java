@@ -0,0 +1,259 @@
+package configurator;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of pre-launched browsers that are already on the application URL.
+ * Browsers are reset (tabs, cookies, storage) when a test hands them back and are
+ * replaced once they reach the maximum reuse count or fail the health check.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>BROWSER_POOL_SIZE - number of warm browsers, 0 disables the pool (default 0)</li>
+ *     <li>BROWSER_POOL_MAX_REUSE - tests served by one browser before it is replaced (default 20)</li>
+ *     <li>BROWSER_POOL_HEALTH_CHECK - probe a browser before handing it out (default true)</li>
+ *     <li>BROWSER_POOL_ACQUIRE_TIMEOUT_SECONDS - wait for a warm browser before starting one cold (default 30)</li>
+ * </ul>
+ */
+public final class BrowserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final int size;
+    private final int maxReuse;
+    private final boolean healthCheck;
+    private final long acquireTimeoutSeconds;
+
+    private final LinkedBlockingQueue<PooledBrowser> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledBrowser> leased = new ConcurrentHashMap<>();
+    private final AtomicInteger liveBrowsers = new AtomicInteger();
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ExecutorService launcher;
+
+    private static final class Holder {
+        private static final BrowserPool INSTANCE = new BrowserPool();
+    }
+
+    private static final class PooledBrowser {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledBrowser(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    private BrowserPool() {
+        this.size = Math.max(0, FrameworkConfig.getInt("BROWSER_POOL_SIZE", 0));
+        this.maxReuse = Math.max(1, FrameworkConfig.getInt("BROWSER_POOL_MAX_REUSE", 20));
+        this.healthCheck = FrameworkConfig.getBoolean("BROWSER_POOL_HEALTH_CHECK", true);
+        this.acquireTimeoutSeconds = FrameworkConfig.getLong("BROWSER_POOL_ACQUIRE_TIMEOUT_SECONDS", 30);
+        this.launcher = Executors.newFixedThreadPool(Math.max(1, size), runnable -> {
+            Thread thread = new Thread(runnable, "browser-pool-launcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-pool-shutdown"));
+    }
+
+    public static BrowserPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.getInt("BROWSER_POOL_SIZE", 0) > 0;
+    }
+
+    /**
+     * Starts launching browsers in the background. Safe to call more than once.
+     */
+    public void warmUp() {
+        if (!warmedUp.compareAndSet(false, true)) {
+            return;
+        }
+        logger.info("Warming browser pool: size={}, maxReuse={}, healthCheck={}", size, maxReuse, healthCheck);
+        for (int i = 0; i < size; i++) {
+            launchInBackground();
+        }
+    }
+
+    /**
+     * Hands out a warm browser that is on the application URL, starting one
+     * synchronously if none becomes available in time.
+     */
+    public WebDriver acquire() {
+        warmUp();
+        long start = System.nanoTime();
+        while (true) {
+            PooledBrowser browser;
+            try {
+                browser = idle.poll(acquireTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a pooled browser", e);
+            }
+
+            if (browser == null) {
+                logger.warn("No warm browser available after {}s, starting one cold", acquireTimeoutSeconds);
+                browser = new PooledBrowser(launch());
+                // Counted once it runs, so a failed cold start does not use up the pool's capacity
+                liveBrowsers.incrementAndGet();
+            } else if (healthCheck && !isHealthy(browser.driver)) {
+                logger.warn("Pooled browser failed health check, replacing it");
+                retire(browser);
+                continue;
+            }
+
+            leased.put(browser.driver, browser);
+            logger.info("Pooled browser handed out in {} ms (use {} of {})",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), browser.uses + 1, maxReuse);
+            return browser.driver;
+        }
+    }
+
+    /**
+     * @return true if the driver was handed out by this pool
+     */
+    public boolean owns(WebDriver driver) {
+        return leased.containsKey(driver);
+    }
+
+    /**
+     * Returns a browser to the pool. It is reset before the next test gets it,
+     * quit and replaced when it is worn out or cannot be reset, or just quit when
+     * cold starts have taken the pool above its size.
+     */
+    public void release(WebDriver driver) {
+        PooledBrowser browser = leased.remove(driver);
+        if (browser == null) {
+            quitQuietly(driver);
+            return;
+        }
+        browser.uses++;
+        if (liveBrowsers.getAndUpdate(live -> live > size ? live - 1 : live) > size) {
+            // A cold start took the pool above its size; let the extra browser go instead of keeping it idle
+            logger.info("Browser pool above its size of {}, quitting the returned browser", size);
+            quitQuietly(driver);
+            return;
+        }
+        if (closed.get() || browser.uses >= maxReuse) {
+            logger.info("Pooled browser reached {} uses, replacing it", browser.uses);
+            retire(browser);
+            return;
+        }
+        try {
+            reset(driver);
+            idle.offer(browser);
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled browser, replacing it: {}", e.getMessage());
+            retire(browser);
+        }
+    }
+
+    /**
+     * Quits every browser owned by the pool.
+     */
+    public void shutdown() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        launcher.shutdownNow();
+        List<PooledBrowser> all = new ArrayList<>(leased.values());
+        idle.drainTo(all);
+        leased.clear();
+        for (PooledBrowser browser : all) {
+            quitQuietly(browser.driver);
+        }
+        if (!all.isEmpty()) {
+            logger.info("Browser pool shut down, {} browsers quit", all.size());
+        }
+    }
+
+    private void launchInBackground() {
+        if (closed.get() || liveBrowsers.incrementAndGet() > size) {
+            liveBrowsers.decrementAndGet();
+            return;
+        }
+        launcher.submit(() -> {
+            try {
+                PooledBrowser browser = new PooledBrowser(launch());
+                if (closed.get()) {
+                    quitQuietly(browser.driver);
+                } else {
+                    idle.offer(browser);
+                }
+            } catch (Exception e) {
+                liveBrowsers.decrementAndGet();
+                logger.error("Failed to launch pooled browser: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private WebDriver launch() {
+        long start = System.nanoTime();
+        WebDriver driver = DriverManager.createDriver();
+        try {
+            driver.get(BaseClass.getUrl());
+        } catch (RuntimeException e) {
+            quitQuietly(driver);
+            throw e;
+        }
+        logger.info("Browser launched for pool in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return driver;
+    }
+
+    private void retire(PooledBrowser browser) {
+        quitQuietly(browser.driver);
+        liveBrowsers.decrementAndGet();
+        launchInBackground();
+    }
+
+    private void reset(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        String main = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle).close();
+        }
+        driver.switchTo().window(main);
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        driver.manage().deleteAllCookies();
+        driver.get(BaseClass.getUrl());
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState");
+            return "complete".equals(state) || "interactive".equals(state);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Ignoring error while quitting pooled browser: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package configurator;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side state of the application in a browser: cookies, localStorage and
+ * sessionStorage of the current origin. It can be captured from one browser and
+ * applied to another, and converted to and from a JSON-friendly map.
+ */
+public final class BrowserSession {
+
+    private static final String READ_STORAGE_SCRIPT = """
+            var dump = function (storage) {
+              var out = {};
+              try {
+                for (var i = 0; i < storage.length; i++) { var k = storage.key(i); out[k] = storage.getItem(k); }
+              } catch (e) {}
+              return out;
+            };
+            return { local: dump(window.localStorage), session: dump(window.sessionStorage) };
+            """;
+
+    // arguments[0]: localStorage entries, arguments[1]: sessionStorage entries
+    private static final String WRITE_STORAGE_SCRIPT = """
+            var fill = function (storage, entries) {
+              try { Object.keys(entries).forEach(function (k) { storage.setItem(k, entries[k]); }); } catch (e) {}
+            };
+            fill(window.localStorage, arguments[0]);
+            fill(window.sessionStorage, arguments[1]);
+            """;
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+
+    public BrowserSession(List<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.cookies = List.copyOf(cookies);
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+    }
+
+    /**
+     * Reads the cookies and web storage of the page the driver is on.
+     */
+    public static BrowserSession capture(WebDriver driver) {
+        Map<?, ?> storage = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new BrowserSession(new ArrayList<>(driver.manage().getCookies()),
+                toStringMap((Map<?, ?>) storage.get("local")), toStringMap((Map<?, ?>) storage.get("session")));
+    }
+
+    /**
+     * Applies this state to the browser. The driver must already be on a page of the
+     * origin the state belongs to; reload or navigate afterwards so the application
+     * picks the state up.
+     */
+    public void applyTo(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+    }
+
+    /**
+     * Removes the cookies and web storage of the page the driver is on, so that a
+     * session applied afterwards replaces the current state instead of merging with it.
+     */
+    public static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public Map<String, Object> toMap() {
+        List<Map<String, Object>> cookieMaps = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> map = new LinkedHashMap<>(cookie.toJson());
+            if (cookie.getExpiry() != null) {
+                map.put("expiry", cookie.getExpiry().getTime());
+            }
+            cookieMaps.add(map);
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("cookies", cookieMaps);
+        map.put("localStorage", localStorage);
+        map.put("sessionStorage", sessionStorage);
+        return map;
+    }
+
+    public static BrowserSession fromMap(Map<?, ?> map) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (Object item : (List<?>) map.get("cookies")) {
+            Map<?, ?> cookie = (Map<?, ?>) item;
+            Object expiry = cookie.get("expiry");
+            cookies.add(new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                    .domain((String) cookie.get("domain"))
+                    .path((String) cookie.get("path"))
+                    .expiresOn(expiry == null ? null : new Date(((Number) expiry).longValue()))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")))
+                    .sameSite((String) cookie.get("sameSite"))
+                    .build());
+        }
+        return new BrowserSession(cookies, toStringMap((Map<?, ?>) map.get("localStorage")),
+                toStringMap((Map<?, ?>) map.get("sessionStorage")));
+    }
+
+    private static Map<String, String> toStringMap(Map<?, ?> source) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (source != null) {
+            source.forEach((key, value) -> result.put(String.valueOf(key), value == null ? null : String.valueOf(value)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package configurator;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Starts browsers for {@link DriverManager}. The implementation is chosen once per
+ * JVM: with GRID_URL set, browsers run on that Selenium Grid (a standalone Grid on
+ * localhost works as a local stand-in), otherwise a local ChromeDriver is started.
+ */
+public interface DriverFactory {
+
+    /**
+     * @param headless true for a headless browser with a desktop-sized viewport
+     * @return a new browser that is not bound to any thread
+     */
+    WebDriver create(boolean headless);
+
+    /**
+     * @return the factory selected by GRID_URL
+     */
+    static DriverFactory fromConfig() {
+        String gridUrl = FrameworkConfig.getString("GRID_URL", null);
+        return gridUrl == null ? new LocalChromeDriverFactory() : new RemoteDriverFactory(gridUrl);
+    }
+}
@@ -0,0 +1,68 @@
+package configurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utilis.FailureArtifacts;
+
+/**
+ * Makes sure no browser outlives the test that opened it.
+ *
+ * <ul>
+ *     <li>When a suite starts, orphaned browsers of earlier runs are reaped in the background.</li>
+ *     <li>When a test fails, its browser state is captured by {@link FailureArtifacts} while the
+ *     driver is still open.</li>
+ *     <li>After the last method of a test has run (its @AfterMethod, or the @Test itself when the
+ *     class has none), a driver still bound to the thread is released, whether the test passed,
+ *     failed or was skipped.</li>
+ *     <li>When the suite finishes, every driver still open on any thread is quit.</li>
+ * </ul>
+ * A JVM shutdown hook in {@link DriverManager} covers suites that are aborted.
+ */
+public class DriverLifecycleListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverLifecycleListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        OrphanedBrowserReaper.startInBackground();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            FailureArtifacts.startTest();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            FailureArtifacts.finishTest(DriverManager.hasDriver() ? DriverManager.getDriver() : null, testResult);
+        }
+        if (!endsTest(method) || !DriverManager.hasDriver()) {
+            return;
+        }
+        logger.warn("{} left its driver open, releasing it", testResult.getTestClass().getRealClass().getSimpleName()
+                + "." + testResult.getMethod().getMethodName());
+        DriverManager.releaseDriver();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverManager.quitAll();
+    }
+
+    private static boolean endsTest(IInvokedMethod method) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (testMethod.isAfterMethodConfiguration()) {
+            return true;
+        }
+        return method.isTestMethod() && testMethod.getTestClass().getAfterTestMethods().length == 0;
+    }
+}
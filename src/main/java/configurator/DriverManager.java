@@ -0,0 +1,170 @@
+package configurator;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utilis.FailureArtifacts;
+import utilis.QuiescenceWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the WebDriver of every TestNG worker thread.
+ * Each thread sees only the driver it created, so tests can run with parallel="methods"
+ * without sharing a browser. Page objects should be given {@link #getDriver()}.
+ */
+public final class DriverManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final Set<WebDriver> ACTIVE_DRIVERS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Long> LEASE = new ThreadLocal<>();
+    private static final AtomicLong LEASES = new AtomicLong();
+    private static final DriverFactory FACTORY = DriverFactory.fromConfig();
+
+    static {
+        // Last line of defence for aborted suites: whatever is still open when the JVM exits is quit
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::quitAll, "driver-manager-shutdown"));
+    }
+
+    private DriverManager() {
+    }
+
+    /**
+     * Starts a new maximized browser, locally or on the Grid at GRID_URL. The driver
+     * is not bound to any thread. The implicit wait defaults to 0 so that explicit,
+     * per-step waits decide how long a lookup may take; set IMPLICIT_WAIT_SECONDS to
+     * restore the old behaviour.
+     */
+    public static WebDriver createDriver() {
+        return withImplicitWait(FACTORY.create(false));
+    }
+
+    /**
+     * Starts a new headless browser with a desktop-sized viewport, for load runs
+     * where many browsers share one machine.
+     */
+    public static WebDriver createHeadlessDriver() {
+        return withImplicitWait(FACTORY.create(true));
+    }
+
+    private static WebDriver withImplicitWait(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(FrameworkConfig.getLong("IMPLICIT_WAIT_SECONDS", 0)));
+        return driver;
+    }
+
+    /**
+     * @return the driver bound to the current thread
+     * @throws IllegalStateException if this thread has not initialized a driver
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread '" + Thread.currentThread().getName()
+                    + "'. Call initializeDriver() before using page objects.");
+        }
+        return driver;
+    }
+
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * @return an id that changes every time a driver is bound to the current thread,
+     * also when a pooled browser is handed out again; 0 when no driver is bound
+     */
+    public static long leaseId() {
+        Long lease = LEASE.get();
+        return lease == null ? 0 : lease;
+    }
+
+    /**
+     * Binds a driver to the current thread. A different driver already bound to
+     * this thread is released first so it cannot leak.
+     */
+    public static void setDriver(WebDriver driver) {
+        WebDriver previous = DRIVER.get();
+        if (previous != null && previous != driver) {
+            logger.warn("Thread {} already owns a driver, releasing it before binding a new one",
+                    Thread.currentThread().getName());
+            releaseDriver();
+        }
+        if (previous != driver) {
+            LEASE.set(LEASES.incrementAndGet());
+            FailureArtifacts.prepare(driver);
+            QuiescenceWait.prepare(driver);
+        }
+        DRIVER.set(driver);
+        ACTIVE_DRIVERS.add(driver);
+        logger.debug("Driver bound to thread {} ({} active)", Thread.currentThread().getName(), ACTIVE_DRIVERS.size());
+    }
+
+    /**
+     * Quits and unbinds the driver of the current thread, if any.
+     */
+    public static void quitDriver() {
+        WebDriver driver = DRIVER.get();
+        DRIVER.remove();
+        LEASE.remove();
+        if (driver == null) {
+            return;
+        }
+        ACTIVE_DRIVERS.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error while quitting driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Unbinds the driver of the current thread and hands it back to the
+     * {@link BrowserPool} if it came from there, otherwise quits it.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            return;
+        }
+        if (BrowserPool.isEnabled() && BrowserPool.getInstance().owns(driver)) {
+            DRIVER.remove();
+            LEASE.remove();
+            ACTIVE_DRIVERS.remove(driver);
+            BrowserPool.getInstance().release(driver);
+        } else {
+            quitDriver();
+        }
+    }
+
+    /**
+     * Quits every driver handed out through this class that is still open, whichever
+     * thread owns it. Used at the end of a suite and when the JVM shuts down.
+     *
+     * @return the number of drivers quit
+     */
+    public static int quitAll() {
+        List<WebDriver> drivers = new ArrayList<>(ACTIVE_DRIVERS);
+        ACTIVE_DRIVERS.clear();
+        for (WebDriver driver : drivers) {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.warn("Error while quitting driver: {}", e.getMessage());
+            }
+        }
+        if (!drivers.isEmpty()) {
+            logger.warn("{} drivers were still open and have been quit", drivers.size());
+        }
+        return drivers.size();
+    }
+
+    public static int activeDriverCount() {
+        return ACTIVE_DRIVERS.size();
+    }
+}
@@ -0,0 +1,135 @@
+package configurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utilis.Percentiles;
+import utilis.TestDurations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the suite across SHARD_TOTAL machines so that each shard takes about the
+ * same time, using the durations recorded in {@link TestDurations}.
+ *
+ * <p>Tests are assigned longest first, each to the shard with the least work so far
+ * (LPT scheduling), and the shard runs its tests in that order. Tests without
+ * history count as the median known duration. The assignment is deterministic, so
+ * every shard computes the same split from the same durations file. Durations of
+ * the browser tests run here, those extending {@link BaseClass}, are recorded and saved
+ * when the suite finishes. The listener applies to the whole suite, so unit tests pass
+ * through it too; they are neither recorded nor weighed, and take no share of a shard.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>SHARD_TOTAL - number of shards (default 1, no sharding)</li>
+ *     <li>SHARD_INDEX - 0-based shard run by this JVM (default 0)</li>
+ * </ul>
+ */
+public class DurationSharder implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationSharder.class);
+    private static final long DEFAULT_DURATION_MILLIS = 60_000;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int total = FrameworkConfig.getInt("SHARD_TOTAL", 1);
+        int index = FrameworkConfig.getInt("SHARD_INDEX", 0);
+        if (total <= 1) {
+            return methods;
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("SHARD_INDEX " + index + " is outside 0.." + (total - 1));
+        }
+
+        Map<IMethodInstance, Long> expected = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            expected.put(method, isBrowserTest(method.getMethod())
+                    ? TestDurations.expected(testName(method.getMethod())).orElse(-1) : 0L);
+        }
+        long fallback = fallbackDuration();
+        expected.replaceAll((method, millis) -> millis < 0 ? fallback : millis);
+
+        List<List<IMethodInstance>> shards = assign(expected, total,
+                Comparator.comparing((IMethodInstance method) -> testName(method.getMethod())));
+        List<IMethodInstance> mine = shards.get(index);
+        long load = mine.stream().mapToLong(expected::get).sum();
+        logger.info("Shard {} of {} runs {} of {} tests, expected {} s", index + 1, total, mine.size(), methods.size(),
+                load / 1000);
+        return mine;
+    }
+
+    /**
+     * Longest-processing-time-first assignment of items to {@code shards} bins.
+     * Ties on duration are broken by {@code order}, ties on load by shard index.
+     *
+     * @return the items of each shard, in the order they were assigned
+     */
+    public static <T> List<List<T>> assign(Map<T, Long> durations, int shards, Comparator<T> order) {
+        List<T> items = new ArrayList<>(durations.keySet());
+        items.sort(Comparator.comparing((T item) -> durations.get(item)).reversed().thenComparing(order));
+
+        List<List<T>> assignment = new ArrayList<>();
+        long[] loads = new long[shards];
+        for (int i = 0; i < shards; i++) {
+            assignment.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            assignment.get(lightest).add(item);
+            loads[lightest] += durations.get(item);
+        }
+        return assignment;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestDurations.save();
+    }
+
+    private static void record(ITestResult result) {
+        if (!isBrowserTest(result.getMethod())) {
+            return;
+        }
+        TestDurations.record(testName(result.getMethod()), result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static long fallbackDuration() {
+        List<Long> known = new ArrayList<>(TestDurations.all().values());
+        return known.isEmpty() ? DEFAULT_DURATION_MILLIS : Percentiles.of(known, 50);
+    }
+
+    private static boolean isBrowserTest(ITestNGMethod method) {
+        return BaseClass.class.isAssignableFrom(method.getRealClass());
+    }
+
+    private static String testName(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+}
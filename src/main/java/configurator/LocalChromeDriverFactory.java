@@ -0,0 +1,34 @@
+package configurator;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Starts Chrome on this machine through a local chromedriver. Every browser is started
+ * with {@link #MARKER_ARGUMENT}, which Chrome ignores and {@link OrphanedBrowserReaper}
+ * uses to tell this framework's browsers from other automation browsers on the host.
+ */
+public class LocalChromeDriverFactory implements DriverFactory {
+
+    static final String MARKER_ARGUMENT = "--hl-website-automation";
+
+    @Override
+    public WebDriver create(boolean headless) {
+        if (!headless) {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments(MARKER_ARGUMENT);
+            WebDriver driver = new ChromeDriver(options);
+            driver.manage().window().maximize();
+            return driver;
+        }
+        return new ChromeDriver(headlessOptions());
+    }
+
+    static ChromeOptions headlessOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--window-size=1920,1080", "--disable-gpu", "--disable-dev-shm-usage",
+                MARKER_ARGUMENT);
+        return options;
+    }
+}
@@ -0,0 +1,27 @@
+package configurator;
+
+import org.slf4j.MDC;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Tags every log line written while a test or configuration method runs with the
+ * worker thread, environment and test name. The worker key selects the rolling
+ * log file in logback.xml, so each TestNG worker writes to its own file.
+ */
+public class LoggingContextListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        MDC.put("worker", Thread.currentThread().getName().replaceAll("[^A-Za-z0-9_.-]", "_"));
+        MDC.put("env", BaseClass.envName);
+        MDC.put("test", testResult.getTestClass().getRealClass().getSimpleName() + "."
+                + method.getTestMethod().getMethodName());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        MDC.remove("test");
+    }
+}
@@ -0,0 +1,218 @@
+package configurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Finds and kills chromedriver and automation Chrome processes left behind by
+ * earlier runs that were aborted before their drivers were quit.
+ *
+ * <p>Only browsers this framework started are reaped: Chrome processes carrying the
+ * marker argument {@link LocalChromeDriverFactory} adds. Automation browsers of other
+ * tools on the host (Puppeteer, Playwright, other builds, Grid nodes) lack the marker
+ * and are never touched. A marked Chrome is orphaned when no chromedriver is among its
+ * ancestors; a chromedriver is orphaned when its parent process is gone or it has been
+ * re-parented to init, and is reaped only when a marked Chrome runs under it.
+ * Processes started by this JVM, and processes younger than REAPER_MIN_AGE_SECONDS,
+ * are never touched, so parallel runs on the same machine keep their browsers.
+ * Memory reclaimed is the resident set size of the killed process trees, read from
+ * /proc where available.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>REAPER_ENABLED - sweep when a suite starts (default false)</li>
+ *     <li>REAPER_INTERVAL_SECONDS - repeat the sweep in the background, 0 sweeps once (default 0)</li>
+ *     <li>REAPER_MIN_AGE_SECONDS - minimum age of a process before it may be reaped (default 60)</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=configurator.OrphanedBrowserReaper
+ * </pre>
+ */
+public final class OrphanedBrowserReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrphanedBrowserReaper.class);
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+    private static final Duration KILL_GRACE = Duration.ofSeconds(5);
+
+    private OrphanedBrowserReaper() {
+    }
+
+    /**
+     * Outcome of one sweep.
+     *
+     * @param processes      processes killed, including browser child processes
+     * @param reclaimedBytes resident memory those processes held, 0 when it cannot be read
+     */
+    public record ReapResult(int processes, long reclaimedBytes) {
+    }
+
+    public static void main(String[] args) {
+        ReapResult result = reap(Duration.ofSeconds(FrameworkConfig.getLong("REAPER_MIN_AGE_SECONDS", 60)));
+        System.out.println("Reaped " + result.processes() + " processes, reclaimed " + toMegabytes(result.reclaimedBytes()) + " MB");
+    }
+
+    /**
+     * Sweeps once on a daemon thread, and every REAPER_INTERVAL_SECONDS after that
+     * when it is set. Does nothing unless REAPER_ENABLED is true; only the first call
+     * has an effect.
+     */
+    public static void startInBackground() {
+        if (!FrameworkConfig.getBoolean("REAPER_ENABLED", false) || !STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        Duration minAge = Duration.ofSeconds(FrameworkConfig.getLong("REAPER_MIN_AGE_SECONDS", 60));
+        long interval = FrameworkConfig.getLong("REAPER_INTERVAL_SECONDS", 0);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "orphaned-browser-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable sweep = () -> {
+            try {
+                reap(minAge);
+            } catch (Exception e) {
+                logger.warn("Orphaned browser sweep failed: {}", e.getMessage());
+            }
+        };
+        if (interval > 0) {
+            executor.scheduleWithFixedDelay(sweep, 0, interval, TimeUnit.SECONDS);
+        } else {
+            executor.execute(sweep);
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Kills every orphaned chromedriver and marked Chrome older than {@code minAge}.
+     */
+    public static ReapResult reap(Duration minAge) {
+        ProcessHandle self = ProcessHandle.current();
+        Set<Long> ownProcesses = self.descendants().map(ProcessHandle::pid).collect(Collectors.toSet());
+        ownProcesses.add(self.pid());
+        Instant cutoff = Instant.now().minus(minAge);
+
+        List<ProcessHandle> orphans = new ArrayList<>();
+        ProcessHandle.allProcesses()
+                .filter(process -> !ownProcesses.contains(process.pid()))
+                .filter(process -> process.info().startInstant().map(cutoff::isAfter).orElse(false))
+                .filter(OrphanedBrowserReaper::isOrphaned)
+                .forEach(orphans::add);
+
+        int killed = 0;
+        long reclaimed = 0;
+        Set<Long> seen = new HashSet<>();
+        for (ProcessHandle orphan : orphans) {
+            List<ProcessHandle> tree = new ArrayList<>();
+            tree.add(orphan);
+            orphan.descendants().forEach(tree::add);
+            for (ProcessHandle process : tree) {
+                if (seen.add(process.pid())) {
+                    reclaimed += residentBytes(process.pid());
+                    killed++;
+                }
+            }
+            logger.info("Killing orphaned {} (pid {}) and {} child processes",
+                    isChromeDriver(orphan) ? "chromedriver" : "browser", orphan.pid(), tree.size() - 1);
+            kill(tree);
+        }
+
+        if (killed > 0) {
+            logger.warn("Reaped {} orphaned browser processes, reclaimed {} MB", killed, toMegabytes(reclaimed));
+        } else {
+            logger.debug("No orphaned browser processes found");
+        }
+        return new ReapResult(killed, reclaimed);
+    }
+
+    private static boolean isOrphaned(ProcessHandle process) {
+        if (isChromeDriver(process)) {
+            Optional<ProcessHandle> parent = process.parent();
+            boolean parentGone = parent.isEmpty() || parent.get().pid() == 1 || !parent.get().isAlive();
+            return parentGone && process.descendants().anyMatch(OrphanedBrowserReaper::isFrameworkChrome);
+        }
+        if (isFrameworkChrome(process) && process.parent().map(parent -> !isFrameworkChrome(parent)).orElse(true)) {
+            for (Optional<ProcessHandle> ancestor = process.parent(); ancestor.isPresent(); ancestor = ancestor.get().parent()) {
+                if (isChromeDriver(ancestor.get())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isChromeDriver(ProcessHandle process) {
+        return process.info().command().map(command -> Paths.get(command).getFileName().toString())
+                .map(name -> name.startsWith("chromedriver"))
+                .orElse(false);
+    }
+
+    private static boolean isFrameworkChrome(ProcessHandle process) {
+        ProcessHandle.Info info = process.info();
+        boolean chrome = info.command().map(command -> command.toLowerCase().matches(".*(chrome|chromium)[^/\\\\]*$"))
+                .orElse(false);
+        if (!chrome) {
+            return false;
+        }
+        String[] arguments = info.arguments().orElse(new String[0]);
+        for (String argument : arguments) {
+            if (argument.equals(LocalChromeDriverFactory.MARKER_ARGUMENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void kill(List<ProcessHandle> tree) {
+        tree.forEach(ProcessHandle::destroy);
+        for (ProcessHandle process : tree) {
+            try {
+                process.onExit().get(KILL_GRACE.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long residentBytes(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Cannot read memory of pid {}: {}", pid, e.getMessage());
+        }
+        return 0;
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
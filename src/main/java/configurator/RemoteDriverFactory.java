@@ -0,0 +1,52 @@
+package configurator;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+
+/**
+ * Starts Chrome on a Selenium Grid. Grid nodes usually have no display sized like a
+ * desktop, so the window size is always set explicitly.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>GRID_URL - Grid endpoint, e.g. http://localhost:4444 for a standalone Grid</li>
+ *     <li>GRID_PLATFORM - platform name requested from the Grid (optional)</li>
+ * </ul>
+ */
+public class RemoteDriverFactory implements DriverFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteDriverFactory.class);
+
+    private final URL gridUrl;
+
+    public RemoteDriverFactory(String gridUrl) {
+        try {
+            this.gridUrl = URI.create(gridUrl).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid GRID_URL: " + gridUrl, e);
+        }
+    }
+
+    @Override
+    public WebDriver create(boolean headless) {
+        ChromeOptions options = headless ? LocalChromeDriverFactory.headlessOptions() : new ChromeOptions();
+        if (!headless) {
+            options.addArguments("--window-size=1920,1080");
+        }
+        String platform = FrameworkConfig.getString("GRID_PLATFORM", null);
+        if (platform != null) {
+            options.setPlatformName(platform);
+        }
+        long start = System.nanoTime();
+        WebDriver driver = RemoteWebDriver.builder().oneOf(options).address(gridUrl).build();
+        logger.info("Grid session started on {} in {} ms", gridUrl, (System.nanoTime() - start) / 1_000_000);
+        return driver;
+    }
+}
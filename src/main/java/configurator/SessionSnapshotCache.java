@@ -0,0 +1,242 @@
+package configurator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * On-disk cache of signed-in browser sessions, so a test can start from a session
+ * captured after the OTP sign-in instead of signing up again.
+ *
+ * <p>Only the session of one stable user, SESSION_USER (a registered mobile number),
+ * is cached: sign-ups with per-run numbers could never be restored. The banner form
+ * captures it when that user signs in, and {@code BaseClass.initializeDriverWithSession}
+ * restores it, e.g. in {@code SignedInSessionTest}.
+ *
+ * <p>Snapshots are stored as {@code <SESSION_CACHE_DIR>/<env>/<user>.json}. A snapshot
+ * older than SESSION_TTL_MINUTES, or whose cookies have all expired, is deleted when
+ * it is read. On restore the session is applied, the page is reloaded and the browser
+ * must still hold the restored cookies and, when SESSION_VALID_SELECTOR is set, show an
+ * element matching it; otherwise the snapshot is evicted.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>SESSION_USER - mobile number whose session is cached; unset disables the cache</li>
+ *     <li>SESSION_CACHE_ENABLED - capture and restore the session of SESSION_USER (default true)</li>
+ *     <li>SESSION_CACHE_DIR - root directory of the cache (default .sessions)</li>
+ *     <li>SESSION_TTL_MINUTES - how long a snapshot may be restored (default 30)</li>
+ *     <li>SESSION_VALID_SELECTOR - CSS selector only present for a signed-in user (optional)</li>
+ * </ul>
+ */
+public final class SessionSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionSnapshotCache.class);
+
+    private final Path directory;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Json json = new Json();
+
+    private static final class Holder {
+        private static final SessionSnapshotCache INSTANCE = new SessionSnapshotCache(
+                Paths.get(FrameworkConfig.getString("SESSION_CACHE_DIR", ".sessions"), BaseClass.envName),
+                Duration.ofMinutes(FrameworkConfig.getLong("SESSION_TTL_MINUTES", 30)),
+                Clock.systemUTC());
+    }
+
+    public SessionSnapshotCache(Path directory, Duration ttl, Clock clock) {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cache for the current environment
+     */
+    public static SessionSnapshotCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return sessionUser() != null && FrameworkConfig.getBoolean("SESSION_CACHE_ENABLED", true);
+    }
+
+    /**
+     * @return the user whose session is cached, or null when none is configured
+     */
+    public static String sessionUser() {
+        String user = FrameworkConfig.getString("SESSION_USER", null);
+        return user == null || user.isBlank() ? null : user.trim();
+    }
+
+    /**
+     * Stores the session of a signed-in user, replacing any earlier snapshot.
+     */
+    public void save(String user, BrowserSession session) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("user", user);
+        snapshot.put("capturedAt", clock.millis());
+        snapshot.put("session", session.toMap());
+
+        Path file = fileFor(user);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, user, ".tmp");
+            Files.writeString(temp, json.toJson(snapshot), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Session of {} saved to {}", user, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save session snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Captures the session the driver holds and stores it for the user.
+     */
+    public void capture(WebDriver driver, String user) {
+        save(user, BrowserSession.capture(driver));
+    }
+
+    /**
+     * @return the user's session, or empty when there is none or it has expired
+     */
+    public Optional<BrowserSession> load(String user) {
+        Path file = fileFor(user);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> snapshot = json.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Instant capturedAt = Instant.ofEpochMilli(((Number) snapshot.get("capturedAt")).longValue());
+            if (capturedAt.plus(ttl).isBefore(clock.instant())) {
+                evict(user, "older than " + ttl.toMinutes() + " minutes");
+                return Optional.empty();
+            }
+            BrowserSession session = withoutExpiredCookies(BrowserSession.fromMap((Map<?, ?>) snapshot.get("session")));
+            if (session.getCookies().isEmpty() && session.getLocalStorage().isEmpty()
+                    && session.getSessionStorage().isEmpty()) {
+                evict(user, "all cookies expired");
+                return Optional.empty();
+            }
+            return Optional.of(session);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unreadable session snapshot {}: {}", file, e.getMessage());
+            evict(user, "unreadable");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Restores the user's session into the browser and checks that it is still signed in.
+     *
+     * @return true when the browser now holds a valid session for the user
+     */
+    public boolean restore(WebDriver driver, String user) {
+        Optional<BrowserSession> session = load(user);
+        if (session.isEmpty()) {
+            return false;
+        }
+        try {
+            String url = BaseClass.getUrl();
+            if (!driver.getCurrentUrl().startsWith(url)) {
+                driver.get(url);
+            }
+            session.get().applyTo(driver);
+            driver.navigate().refresh();
+
+            if (!isValid(driver, session.get())) {
+                evict(user, "rejected by the application");
+                return false;
+            }
+            logger.info("Session of {} restored", user);
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to restore session of {}: {}", user, e.getMessage(), e);
+            evict(user, "restore failed");
+            return false;
+        }
+    }
+
+    /**
+     * Deletes every snapshot in the cache that has outlived the TTL.
+     *
+     * @return the number of snapshots deleted
+     */
+    public int evictExpired() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int evicted = 0;
+        Instant cutoff = clock.instant().minus(ttl);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    evicted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to sweep session snapshots in {}: {}", directory, e.getMessage());
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} expired session snapshots from {}", evicted, directory);
+        }
+        return evicted;
+    }
+
+    public void evict(String user, String reason) {
+        try {
+            if (Files.deleteIfExists(fileFor(user))) {
+                logger.info("Session snapshot of {} evicted: {}", user, reason);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to evict session snapshot of {}: {}", user, e.getMessage());
+        }
+    }
+
+    private boolean isValid(WebDriver driver, BrowserSession session) {
+        for (Cookie cookie : session.getCookies()) {
+            if (driver.manage().getCookieNamed(cookie.getName()) == null) {
+                logger.warn("Cookie {} was not kept after restore", cookie.getName());
+                return false;
+            }
+        }
+        String selector = FrameworkConfig.getString("SESSION_VALID_SELECTOR", null);
+        return selector == null || !driver.findElements(By.cssSelector(selector)).isEmpty();
+    }
+
+    private BrowserSession withoutExpiredCookies(BrowserSession session) {
+        Date now = Date.from(clock.instant());
+        List<Cookie> cookies = new ArrayList<>();
+        for (Cookie cookie : session.getCookies()) {
+            if (cookie.getExpiry() == null || cookie.getExpiry().after(now)) {
+                cookies.add(cookie);
+            }
+        }
+        return new BrowserSession(cookies, session.getLocalStorage(), session.getSessionStorage());
+    }
+
+    private Path fileFor(String user) {
+        return directory.resolve(user.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+}
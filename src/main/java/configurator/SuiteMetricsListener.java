@@ -0,0 +1,59 @@
+package configurator;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utilis.CachingElementLocatorFactory;
+import utilis.FailureArtifacts;
+import utilis.LogAnalyzer;
+import utilis.PerformanceMetrics;
+import utilis.StepHistory;
+import utilis.StepMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the line {@link LogAnalyzer} uses to tell runs apart when a suite starts. When it
+ * finishes, exports the step metrics collected during the suite (JSON and Prometheus
+ * text), the element lookup cache statistics and the browser performance metrics to
+ * METRICS_DIR, default target/metrics, saves the step history and waits for pending
+ * failure artifacts to be written.
+ */
+public class SuiteMetricsListener implements ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteMetricsListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        logger.info("{} {}", LogAnalyzer.RUN_START, suite.getName());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path dir = Paths.get(FrameworkConfig.getString("METRICS_DIR", "target/metrics"));
+        StepMetrics.export(dir);
+        exportLocatorCacheStats(dir);
+        PerformanceMetrics.export(dir);
+        StepHistory.save();
+        FailureArtifacts.awaitWrites(FrameworkConfig.getLong("FAILURE_ARTIFACTS_FLUSH_SECONDS", 30), TimeUnit.SECONDS);
+    }
+
+    private static void exportLocatorCacheStats(Path dir) {
+        Map<String, Object> stats = CachingElementLocatorFactory.stats();
+        logger.info("Element lookup cache: {}", stats);
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("locator-cache.json"), new Json().toJson(stats), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to export element lookup cache stats: {}", e.getMessage(), e);
+        }
+    }
+}
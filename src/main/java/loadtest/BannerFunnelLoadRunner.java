@@ -0,0 +1,190 @@
+package loadtest;
+
+import configurator.BaseClass;
+import configurator.DriverManager;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pageObject.BannerFormPage;
+import pageObject.MeetingSchedulePage;
+import pageObject.Pages;
+import pageObject.PlanningOptionsPage;
+import pageObject.PropertyDetailsPage;
+import utilis.StepMetrics;
+import utilis.TestDataService;
+import utilis.Utilities;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the BannerSignInTest funnel (banner form, property details, planning options,
+ * meeting) as a load scenario with headless virtual users, reusing the page objects.
+ *
+ * <p>Each virtual user keeps one browser and repeats the funnel with fresh sign-up
+ * data until the run ends. Step durations and failures go to {@link StepMetrics};
+ * the report gives completed bookings per minute, per-step percentiles and error
+ * rates, and is written to LOAD_REPORT_FILE (default target/load-report.json).
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=loadtest.BannerFunnelLoadRunner -DLOAD_USERS=10 -DLOAD_TARGET_URL=http://localhost:8080/
+ * </pre>
+ */
+public class BannerFunnelLoadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BannerFunnelLoadRunner.class);
+    private static final String STEP_PAGE = "BannerFunnelLoad";
+
+    private final LoadProfile profile;
+    private final AtomicLong completedBookings = new AtomicLong();
+    private final AtomicLong failedIterations = new AtomicLong();
+
+    public BannerFunnelLoadRunner(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromConfig();
+        Map<String, Object> report = new BannerFunnelLoadRunner(profile).run();
+        Path reportFile = Paths.get(FrameworkConfig.getString("LOAD_REPORT_FILE", "target/load-report.json"));
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            Files.writeString(reportFile, new Json().toJson(report), StandardCharsets.UTF_8);
+            logger.info("Load report written to {}", reportFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write load report: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the scenario to completion.
+     *
+     * @return the load report
+     */
+    public Map<String, Object> run() {
+        logger.info("Starting load run: {}", profile);
+        StepMetrics.reset();
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+
+        AtomicLong userIds = new AtomicLong();
+        ExecutorService users = Executors.newFixedThreadPool(profile.getUsers(),
+                runnable -> new Thread(runnable, "vu-" + userIds.incrementAndGet()));
+        for (int user = 0; user < profile.getUsers(); user++) {
+            long startAt = start + profile.startOffset(user).toNanos();
+            users.submit(() -> runVirtualUser(startAt, end));
+        }
+        users.shutdown();
+        try {
+            if (!users.awaitTermination(profile.getDuration().toSeconds() + 300, TimeUnit.SECONDS)) {
+                logger.warn("Virtual users did not finish in time, interrupting them");
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            users.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        Map<String, Object> report = buildReport(System.nanoTime() - start);
+        logger.info("Load run finished: {} bookings, {} failed iterations, {} bookings/min",
+                report.get("completedBookings"), report.get("failedIterations"), report.get("bookingsPerMinute"));
+        return report;
+    }
+
+    private void runVirtualUser(long startAt, long end) {
+        if (!sleepUntil(startAt)) {
+            return;
+        }
+        WebDriver driver = DriverManager.createHeadlessDriver();
+        DriverManager.setDriver(driver);
+        try {
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                try {
+                    runFunnel(driver);
+                    completedBookings.incrementAndGet();
+                } catch (Exception e) {
+                    failedIterations.incrementAndGet();
+                    logger.warn("Funnel iteration failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            DriverManager.quitDriver();
+            Pages.clear();
+        }
+    }
+
+    private void runFunnel(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        driver.get(profile.getTargetUrl());
+
+        TestDataService.TestIdentity identity = TestDataService.nextIdentity();
+        String otp = BaseClass.dotenv.get("SING_UP_OTP");
+        String showroom = BaseClass.dotenv.get("SHOWROOM");
+        String propertySearch = FrameworkConfig.getString("LOAD_PROPERTY_SEARCH",
+                "TestYantra Software Solutions, Somajiguda, Hyderabad, Telangana, India");
+
+        StepMetrics.time(STEP_PAGE, "fillBannerForm",
+                () -> Pages.get(BannerFormPage.class).fillBannerForm(identity.name(), identity.phoneNumber(), otp));
+        think();
+        StepMetrics.time(STEP_PAGE, "fillPropertyDetails",
+                () -> Pages.get(PropertyDetailsPage.class).fillPropertyDetails(propertySearch));
+        think();
+        StepMetrics.time(STEP_PAGE, "fillPlanningOptions", () -> Pages.get(PlanningOptionsPage.class).fillPlanningOptions());
+        think();
+        StepMetrics.time(STEP_PAGE, "scheduleMeeting",
+                () -> Pages.get(MeetingSchedulePage.class).scheduleMeeting(Utilities.getTomorrowDate(), showroom));
+    }
+
+    private void think() {
+        sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(profile.nextThinkTimeMs()));
+    }
+
+    private static boolean sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Map<String, Object> buildReport(long elapsedNanos) {
+        double minutes = elapsedNanos / 60_000_000_000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", profile.toString());
+        report.put("elapsedSeconds", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos));
+        report.put("completedBookings", completedBookings.get());
+        report.put("failedIterations", failedIterations.get());
+        report.put("bookingsPerMinute", Math.round(completedBookings.get() / minutes * 100) / 100.0);
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (StepMetrics.Summary summary : StepMetrics.snapshot()) {
+            Map<String, Object> step = summary.toMap();
+            long attempts = summary.count() + summary.failures();
+            step.put("errorRate", attempts == 0 ? 0.0 : Math.round(summary.failures() * 10000.0 / attempts) / 10000.0);
+            steps.add(step);
+        }
+        report.put("steps", steps);
+        return report;
+    }
+}
@@ -0,0 +1,133 @@
+package loadtest;
+
+import configurator.BaseClass;
+import configurator.FrameworkConfig;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shape of a load run: how many virtual users, how fast they start, how long the
+ * run lasts and how long each user pauses between funnel steps.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>LOAD_USERS - concurrent virtual users (default 5)</li>
+ *     <li>LOAD_RAMP_UP_SECONDS - time over which users are started evenly (default 60)</li>
+ *     <li>LOAD_DURATION_SECONDS - run length including ramp-up (default 600)</li>
+ *     <li>LOAD_THINK_TIME_MS - pause between steps, a fixed value or a range like 1000-3000 (default 1000-3000)</li>
+ *     <li>LOAD_TARGET_URL - site under load, required</li>
+ *     <li>LOAD_ALLOW_PROD - allow LOAD_TARGET_URL on the production host of the env file (default false)</li>
+ * </ul>
+ *
+ * <p>There is no default target: every completed iteration creates a real lead, so a run
+ * with no flags must not land on production.
+ */
+public final class LoadProfile {
+
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final long thinkTimeMinMs;
+    private final long thinkTimeMaxMs;
+    private final String targetUrl;
+
+    public LoadProfile(int users, Duration rampUp, Duration duration, long thinkTimeMinMs, long thinkTimeMaxMs,
+                       String targetUrl) {
+        if (users < 1) {
+            throw new IllegalArgumentException("At least one virtual user is required");
+        }
+        if (thinkTimeMinMs < 0 || thinkTimeMaxMs < thinkTimeMinMs) {
+            throw new IllegalArgumentException("Invalid think time range " + thinkTimeMinMs + "-" + thinkTimeMaxMs);
+        }
+        this.users = users;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.thinkTimeMinMs = thinkTimeMinMs;
+        this.thinkTimeMaxMs = thinkTimeMaxMs;
+        this.targetUrl = targetUrl;
+    }
+
+    /**
+     * @return the profile described by the LOAD_* settings
+     */
+    public static LoadProfile fromConfig() {
+        String thinkTime = FrameworkConfig.getString("LOAD_THINK_TIME_MS", "1000-3000");
+        String[] bounds = thinkTime.split("-");
+        long min = Long.parseLong(bounds[0].trim());
+        long max = bounds.length > 1 ? Long.parseLong(bounds[1].trim()) : min;
+        return new LoadProfile(
+                FrameworkConfig.getInt("LOAD_USERS", 5),
+                Duration.ofSeconds(FrameworkConfig.getLong("LOAD_RAMP_UP_SECONDS", 60)),
+                Duration.ofSeconds(FrameworkConfig.getLong("LOAD_DURATION_SECONDS", 600)),
+                min, max,
+                targetUrlFromConfig());
+    }
+
+    private static String targetUrlFromConfig() {
+        String target = FrameworkConfig.getString("LOAD_TARGET_URL", null);
+        if (target == null || target.isBlank()) {
+            throw new IllegalStateException("LOAD_TARGET_URL is required, e.g. -DLOAD_TARGET_URL=http://localhost:8080/");
+        }
+        if (isProduction(target) && !FrameworkConfig.getBoolean("LOAD_ALLOW_PROD", false)) {
+            throw new IllegalStateException("LOAD_TARGET_URL " + target + " is the production site ("
+                    + BaseClass.envName + "); set LOAD_ALLOW_PROD=true to load it anyway");
+        }
+        return target;
+    }
+
+    private static boolean isProduction(String target) {
+        if (!"prod".equals(BaseClass.envName)) {
+            return false;
+        }
+        try {
+            return host(target).equals(host(BaseClass.getUrl()));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String host(String url) {
+        String host = URI.create(url.trim()).getHost();
+        if (host == null) {
+            throw new IllegalArgumentException("No host in " + url);
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getTargetUrl() {
+        return targetUrl;
+    }
+
+    /**
+     * @return when the given user (0-based) starts, relative to the start of the run
+     */
+    public Duration startOffset(int user) {
+        return users == 1 ? Duration.ZERO : rampUp.multipliedBy(user).dividedBy(users);
+    }
+
+    /**
+     * @return a random think time within the configured range
+     */
+    public long nextThinkTimeMs() {
+        return thinkTimeMaxMs == thinkTimeMinMs ? thinkTimeMinMs
+                : ThreadLocalRandom.current().nextLong(thinkTimeMinMs, thinkTimeMaxMs + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", rampUp=" + rampUp.toSeconds() + "s, duration=" + duration.toSeconds()
+                + "s, thinkTime=" + thinkTimeMinMs + "-" + thinkTimeMaxMs + "ms, target=" + targetUrl;
+    }
+}
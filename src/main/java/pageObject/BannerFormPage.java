@@ -1,21 +1,20 @@
 package pageObject;
 
+import configurator.SessionSnapshotCache;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utilis.BatchedFormFill;
 
-import java.time.Duration;
+import java.util.List;
 
-public class BannerFormPage {
+public class BannerFormPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(BannerFormPage.class);
-    private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators using @FindBy
     @FindBy(css = "#bfc-form-container input[placeholder='Enter your name']")
@@ -40,14 +39,14 @@ public class BannerFormPage {
 
     // Constructor
     public BannerFormPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        super(driver);
         logger.info("BannerFormPage initialized");
     }
 
     // Page Actions
     public void enterName(String name) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("enterName");
         try {
             logger.info("Entering name: {}", name);
             wait.until(ExpectedConditions.elementToBeClickable(nameInput));
@@ -55,13 +54,17 @@ public class BannerFormPage {
             nameInput.clear();
             nameInput.sendKeys(name);
             logger.info("Name entered successfully");
+            recordStep("enterName", start);
         } catch (Exception e) {
             logger.error("Failed to enter name: {}", e.getMessage(), e);
+            recordFailure("enterName");
             throw e;
         }
     }
 
     public void enterMobileNumber(String mobile) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("enterMobileNumber");
         try {
             logger.info("Entering mobile number: {}", mobile);
             wait.until(ExpectedConditions.elementToBeClickable(mobileInput));
@@ -69,37 +72,71 @@ public class BannerFormPage {
             mobileInput.clear();
             mobileInput.sendKeys(mobile);
             logger.info("Mobile number entered successfully");
+            recordStep("enterMobileNumber", start);
         } catch (Exception e) {
             logger.error("Failed to enter mobile number: {}", e.getMessage(), e);
+            recordFailure("enterMobileNumber");
+            throw e;
+        }
+    }
+
+    /**
+     * Enters name and mobile number in one round trip. Fields the page does not
+     * accept this way are typed with {@link #enterName} / {@link #enterMobileNumber}.
+     */
+    public void enterNameAndMobileNumber(String name, String mobile) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("enterNameAndMobileNumber");
+        try {
+            logger.info("Entering name and mobile number in one batch: {}, {}", name, mobile);
+            wait.until(ExpectedConditions.elementToBeClickable(nameInput));
+            BatchedFormFill.fill(driver, List.of(
+                    new BatchedFormFill.Field(nameInput, name, () -> enterName(name)),
+                    new BatchedFormFill.Field(mobileInput, mobile, () -> enterMobileNumber(mobile))));
+            logger.info("Name and mobile number entered successfully");
+            recordStep("enterNameAndMobileNumber", start);
+        } catch (Exception e) {
+            logger.error("Failed to enter name and mobile number: {}", e.getMessage(), e);
+            recordFailure("enterNameAndMobileNumber");
             throw e;
         }
     }
 
     public void selectPropertyLocation() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectPropertyLocation");
         try {
             logger.info("Selecting property location");
             wait.until(ExpectedConditions.elementToBeClickable(propertyLocationDropdown)).click();
             logger.info("Property location dropdown clicked");
             wait.until(ExpectedConditions.elementToBeClickable(cityOption)).click();
             logger.info("City option selected successfully");
+            recordStep("selectPropertyLocation", start);
         } catch (Exception e) {
             logger.error("Failed to select property location: {}", e.getMessage(), e);
+            recordFailure("selectPropertyLocation");
             throw e;
         }
     }
 
     public void clickBookSession() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("clickBookSession");
         try {
             logger.info("Clicking Book 3D Design Session button");
             wait.until(ExpectedConditions.elementToBeClickable(bookSessionButton)).click();
             logger.info("Book session button clicked successfully");
+            recordStep("clickBookSession", start);
         } catch (Exception e) {
             logger.error("Failed to click book session button: {}", e.getMessage(), e);
+            recordFailure("clickBookSession");
             throw e;
         }
     }
 
     public void enterOTP(String otp) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("enterOTP");
         try {
             logger.info("Entering OTP: {}", otp);
             wait.until(ExpectedConditions.elementToBeClickable(otpInput));
@@ -107,32 +144,53 @@ public class BannerFormPage {
             otpInput.clear();
             otpInput.sendKeys(otp);
             logger.info("OTP entered successfully");
+            recordStep("enterOTP", start);
         } catch (Exception e) {
             logger.error("Failed to enter OTP: {}", e.getMessage(), e);
+            recordFailure("enterOTP");
             throw e;
         }
     }
 
     public void clickSubmit() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("clickSubmit");
         try {
             logger.info("Clicking Submit button");
             wait.until(ExpectedConditions.elementToBeClickable(submitButton)).click();
             logger.info("Submit button clicked successfully");
+            waitForPageToSettle();
+            recordStep("clickSubmit", start);
         } catch (Exception e) {
             logger.error("Failed to click submit button: {}", e.getMessage(), e);
+            recordFailure("clickSubmit");
             throw e;
         }
     }
 
     // Complete flow method
     public void fillBannerForm(String name, String mobile, String otp) {
+        long start = System.nanoTime();
         logger.info("Starting banner form fill process");
-        enterName(name);
-        enterMobileNumber(mobile);
+        if (isBatchedFill()) {
+            enterNameAndMobileNumber(name, mobile);
+        } else {
+            enterName(name);
+            enterMobileNumber(mobile);
+        }
         selectPropertyLocation();
         clickBookSession();
         enterOTP(otp);
         clickSubmit();
+        if (SessionSnapshotCache.isEnabled() && mobile.equals(SessionSnapshotCache.sessionUser())) {
+            // Signed in as the cached user: later tests can restore this session instead of repeating the OTP
+            try {
+                SessionSnapshotCache.getInstance().capture(driver, mobile);
+            } catch (Exception e) {
+                logger.warn("Failed to capture session of {}: {}", mobile, e.getMessage());
+            }
+        }
         logger.info("Banner form fill process completed");
+        recordStep("fillBannerForm", start);
     }
 }
@@ -0,0 +1,135 @@
+package pageObject;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utilis.AdaptiveTimeouts;
+import utilis.CachingElementLocatorFactory;
+import utilis.FallbackLocator;
+import utilis.PerformanceMetrics;
+import utilis.QuiescenceWait;
+import utilis.ReadyCondition;
+import utilis.StaleRetryingFieldDecorator;
+import utilis.StepHistory;
+import utilis.StepMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common state and helpers shared by all page objects.
+ */
+public abstract class BasePage {
+
+    protected final WebDriver driver;
+    private final CachingElementLocatorFactory locatorFactory;
+    private boolean batchedFill;
+
+    protected BasePage(WebDriver driver) {
+        this.driver = driver;
+        this.batchedFill = Arrays.asList(FrameworkConfig.getString("BATCHED_FORM_FILL", "").split("\\s*,\\s*"))
+                .contains(getClass().getSimpleName());
+        this.locatorFactory = new CachingElementLocatorFactory(driver);
+        PageFactory.initElements(new StaleRetryingFieldDecorator(locatorFactory), this);
+    }
+
+    /**
+     * Opts this page object in or out of batched form filling. The default comes
+     * from BATCHED_FORM_FILL, a comma-separated list of page class names.
+     */
+    public void setBatchedFill(boolean batchedFill) {
+        this.batchedFill = batchedFill;
+    }
+
+    public boolean isBatchedFill() {
+        return batchedFill;
+    }
+
+    /**
+     * @return a wait whose timeout is learned from earlier runs of this action
+     */
+    protected WebDriverWait waitFor(String action) {
+        return AdaptiveTimeouts.waitFor(driver, stepName(action));
+    }
+
+    /**
+     * Waits until the element is visible, enabled, not covered and no loader shows,
+     * with one browser call per poll every READY_POLL_MS. Use instead of chaining
+     * visibilityOf and elementToBeClickable on the same element.
+     */
+    protected WebElement waitUntilReady(WebDriverWait wait, WebElement element) {
+        return ReadyCondition.pollingWait(wait).until(ReadyCondition.clickable(element));
+    }
+
+    protected WebElement waitUntilReady(WebDriverWait wait, By locator) {
+        return ReadyCondition.pollingWait(wait).until(ReadyCondition.clickable(locator));
+    }
+
+    /**
+     * @return true when the element is present and displayed right now, without waiting
+     */
+    protected boolean isShown(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records how long a successful action took, measured from {@code startNanos},
+     * in the step history and the suite's metrics registry. With PERF_METRICS_ENABLED
+     * the browser-side metrics of the action, including the actions it called, are
+     * captured as well.
+     */
+    protected void recordStep(String action, long startNanos) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        StepHistory.record(stepName(action), durationMillis);
+        StepMetrics.record(getClass().getSimpleName(), action, durationMillis);
+        if (PerformanceMetrics.isEnabled()) {
+            PerformanceMetrics.capture(driver, stepName(action), startNanos);
+        }
+    }
+
+    /**
+     * Counts a failed action in the suite's metrics registry. Call from the action's
+     * {@code catch} block before rethrowing.
+     */
+    protected void recordFailure(String action) {
+        StepMetrics.recordFailure(getClass().getSimpleName(), action);
+    }
+
+    /**
+     * @return the step name used for timing, e.g. {@code BannerFormPage.clickSubmit}
+     */
+    protected String stepName(String action) {
+        return getClass().getSimpleName() + "." + action;
+    }
+
+    /**
+     * Locates an element that has several possible locators. The strategy that
+     * worked last for this element is tried first and all others are evaluated in
+     * the same round trip, so a stale strategy never costs a full timeout.
+     *
+     * @param element name of the element within this page, e.g. {@code datePickerDay}
+     */
+    protected WebElement findFirst(String element, WebDriverWait wait, FallbackLocator.Strategy... strategies) {
+        return FallbackLocator.find(driver, wait, stepName(element), List.of(strategies));
+    }
+
+    /**
+     * Blocks until no network request is in flight and the DOM has been quiet
+     * for the configured window. Use instead of Thread.sleep after actions that
+     * trigger a re-render or a page transition. Elements cached for this page
+     * object are looked up again afterwards.
+     */
+    protected void waitForPageToSettle() {
+        QuiescenceWait.waitForQuiet(driver);
+        locatorFactory.nextGeneration();
+    }
+}
@@ -1,27 +1,25 @@
 package pageObject;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utilis.FallbackLocator;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 import static configurator.BaseClass.envName;
 
-public class MeetingSchedulePage {
+public class MeetingSchedulePage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(MeetingSchedulePage.class);
-    private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators using @FindBy
     @FindBy(xpath = "//div[@class='BFC_flowSteps_selectOption_section__32fyK' and contains(., 'Select Experience Centre')]")
@@ -48,14 +46,19 @@ public class MeetingSchedulePage {
 
     // Constructor
     public MeetingSchedulePage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        super(driver);
         logger.info("MeetingSchedulePage initialized");
     }
 
+    /**
+     * @return true when the funnel shows the meeting step
+     */
+    public boolean isOpen() {
+        return isShown(experienceCentreDropdownProd) || isShown(experienceCentreDropdownPreProd);
+    }
+
     // Helper method to wait for loaders to disappear
-    private void waitForLoadersToDisappear() {
+    private void waitForLoadersToDisappear(WebDriverWait wait) {
         try {
             // Wait for the time loader to disappear if it exists
             By loaderLocator = By.xpath("//div[contains(@class, 'BFC_flowSteps_timeLoader')]");
@@ -69,6 +72,8 @@ public class MeetingSchedulePage {
 
     // Page Actions
     public void selectExperienceCentre(String showroomName) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectExperienceCentre");
         try {
             logger.info("Selecting experience centre");
             if (envName.equalsIgnoreCase("prod")){
@@ -78,10 +83,12 @@ public class MeetingSchedulePage {
             }
             logger.info("Experience centre dropdown clicked");
            String experienceCentreOption = "//ul[@class='BFC_flowSteps_dropdown_lists__1W_Cc']//li[@class='BFC_flowSteps_dropdown_options__3h23k ' and contains(text(), '"+showroomName+"')]";
-            wait.until(ExpectedConditions.elementToBeClickable( driver.findElement(By.xpath(experienceCentreOption)))).click();
+            wait.until(ExpectedConditions.elementToBeClickable(By.xpath(experienceCentreOption))).click();
             logger.info("Experience centre option selected successfully");
+            recordStep("selectExperienceCentre", start);
         } catch (Exception e) {
             logger.error("Failed to select experience centre: {}", e.getMessage(), e);
+            recordFailure("selectExperienceCentre");
             throw e;
         }
     }
@@ -93,18 +100,20 @@ public class MeetingSchedulePage {
      *                   "30-11-2025")
      */
     public void selectDate(String dateString) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectDate");
         try {
             logger.info("Selecting date: {}", dateString);
 
             // Wait for any loaders to disappear before clicking
-            waitForLoadersToDisappear();
+            waitForLoadersToDisappear(wait);
 
             wait.until(ExpectedConditions.elementToBeClickable(selectDateDropdown)).click();
             logger.info("Date dropdown clicked");
 
             // Wait for datepicker calendar to fully load
-            Thread.sleep(2000);
             logger.info("Waiting for datepicker calendar to load");
+            waitForPageToSettle();
 
             // Parse the input date string (format: d-M-yyyy)
             DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("d-M-yyyy");
@@ -113,70 +122,44 @@ public class MeetingSchedulePage {
 
             logger.info("Looking for date: {}", day);
 
-            // Try multiple XPath strategies to find the date element
-            WebElement dateButton = null;
+            String dayOfWeek = date.format(DateTimeFormatter.ofPattern("EEEE", Locale.ENGLISH));
+            String month = date.format(DateTimeFormatter.ofPattern("MMMM", Locale.ENGLISH));
+            String ariaLabel = String.format("Choose %s, %s %s, %d", dayOfWeek, month, getDayWithSuffix(day),
+                    date.getYear());
+            logger.info("Looking for aria-label: {}", ariaLabel);
 
-            // Strategy 1: Try with aria-label (original approach)
+            // All strategies are evaluated in one round trip; the precise one that worked last time is tried first
+            WebElement dateButton;
             try {
-                String dayOfWeek = date.format(DateTimeFormatter.ofPattern("EEEE", Locale.ENGLISH));
-                String month = date.format(DateTimeFormatter.ofPattern("MMMM", Locale.ENGLISH));
-                String dayWithSuffix = getDayWithSuffix(day);
-                int year = date.getYear();
-                String ariaLabel = String.format("Choose %s, %s %s, %d", dayOfWeek, month, dayWithSuffix, year);
-
-                String dateXPath = String.format("//div[@class='react-datepicker__day' and @aria-label='%s']",
-                        ariaLabel);
-                logger.info("Strategy 1: Looking for aria-label: {}", ariaLabel);
-                dateButton = driver.findElement(By.xpath(dateXPath));
-                logger.info("Found date using Strategy 1 (aria-label)");
-            } catch (Exception e1) {
-                logger.warn("Strategy 1 failed: {}", e1.getMessage());
-
-                // Strategy 2: Try clicking on visible date number directly
-                try {
-                    String simpleDateXPath = String.format(
-                            "//div[contains(@class, 'react-datepicker__day') and text()='%d' and not(contains(@class, 'disabled'))]",
-                            day);
-                    logger.info("Strategy 2: Looking for date with XPath: {}", simpleDateXPath);
-                    dateButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(simpleDateXPath)));
-                    logger.info("Found date using Strategy 2 (simple text match)");
-                } catch (Exception e2) {
-                    logger.warn("Strategy 2 failed: {}", e2.getMessage());
-
-                    // Strategy 3: Try any clickable element with the date number
-                    try {
-                        String anyDateXPath = String.format("//*[text()='%d' and not(contains(@class, 'disabled'))]",
-                                day);
-                        logger.info("Strategy 3: Looking for any element with text: {}", day);
-                        dateButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(anyDateXPath)));
-                        logger.info("Found date using Strategy 3 (any clickable element)");
-                    } catch (Exception e3) {
-                        logger.error("All strategies failed to find the date");
-                        throw new RuntimeException("Could not find date " + day + " in the calendar", e3);
-                    }
-                }
+                dateButton = findFirst("datePickerDay", wait,
+                        // Strategy 1: aria-label
+                        FallbackLocator.Strategy.xpath("aria-label", String.format(
+                                "//div[@class='react-datepicker__day' and @aria-label='%s']", ariaLabel)),
+                        // Strategy 2: visible date number in the datepicker
+                        FallbackLocator.Strategy.xpath("day-text", String.format(
+                                "//div[contains(@class, 'react-datepicker__day') and text()='%d' and not(contains(@class, 'disabled'))]",
+                                day)),
+                        // Strategy 3: any element with the date number; may match a time slot or a price,
+                        // so it is only used when neither datepicker strategy matches
+                        FallbackLocator.Strategy.xpath("any-text", String.format(
+                                "//*[text()='%d' and not(contains(@class, 'disabled'))]", day)).asLastResort());
+            } catch (TimeoutException e) {
+                logger.error("All strategies failed to find the date");
+                throw new RuntimeException("Could not find date " + day + " in the calendar", e);
             }
 
-            if (dateButton != null) {
-                dateButton.click();
-                logger.info("Date selected successfully: {}", dateString);
-            }
-        } catch (InterruptedException e) {
-            logger.error("Thread interrupted during wait: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Date selection interrupted", e);
+            wait.until(ExpectedConditions.elementToBeClickable(dateButton)).click();
+            logger.info("Date selected successfully: {}", dateString);
+            recordStep("selectDate", start);
         } catch (Exception e) {
             logger.error("Failed to select date: {}", e.getMessage(), e);
+            recordFailure("selectDate");
             throw e;
         }
 
         // Wait for time slots to load after date selection
-        try {
-            Thread.sleep(1500);
-            logger.info("Waiting for time slots to load after date selection");
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-        }
+        logger.info("Waiting for time slots to load after date selection");
+        waitForPageToSettle();
     }
 
     /**
@@ -199,50 +182,54 @@ public class MeetingSchedulePage {
     }
 
     public void selectTimeSlot() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectTimeSlot");
         try {
             logger.info("Selecting time slot");
 
-            // Wait for any loaders to disappear before clicking
-            waitForLoadersToDisappear();
-
-            wait.until(ExpectedConditions.elementToBeClickable(timeSlotDropdown)).click();
+            // One check per poll: visible, enabled, not covered and no time loader showing
+            waitUntilReady(wait, timeSlotDropdown).click();
             logger.info("Time slot dropdown clicked");
 
-            wait.until(ExpectedConditions.visibilityOf(timeSlotOption));
-            wait.until(ExpectedConditions.elementToBeClickable(timeSlotOption)).click();
+            waitUntilReady(wait, timeSlotOption).click();
             logger.info("Time slot selected successfully");
+            recordStep("selectTimeSlot", start);
         } catch (Exception e) {
             logger.error("Failed to select time slot: {}", e.getMessage(), e);
+            recordFailure("selectTimeSlot");
             throw e;
         }
     }
 
     public void clickBookFreeDesignSession() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("clickBookFreeDesignSession");
         try {
             logger.info("Clicking 'Book Free Design Session' button");
             wait.until(ExpectedConditions.elementToBeClickable(bookSessionButton)).click();
             logger.info("'Book Free Design Session' button clicked successfully");
 
             // Wait for final submission
-            logger.info("Waiting for final submission (5 seconds)");
-            Thread.sleep(5000);
+            logger.info("Waiting for final submission");
+            waitForPageToSettle();
             logger.info("Final submission wait completed");
-        } catch (InterruptedException e) {
-            logger.error("Thread interrupted during wait: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt();
+            recordStep("clickBookFreeDesignSession", start);
         } catch (Exception e) {
             logger.error("Failed to click book session button: {}", e.getMessage(), e);
+            recordFailure("clickBookFreeDesignSession");
             throw e;
         }
     }
 
     // Complete flow method
     public void scheduleMeeting(String date, String showroomName) {
+        long start = System.nanoTime();
         logger.info("Starting meeting scheduling process");
         selectExperienceCentre(showroomName);
         selectDate(date);
         selectTimeSlot();
         clickBookFreeDesignSession();
         logger.info("Meeting scheduling process completed");
+        recordStep("scheduleMeeting", start);
     }
 }
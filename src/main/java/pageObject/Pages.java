@@ -0,0 +1,86 @@
+package pageObject;
+
+import configurator.DriverManager;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread container of page objects for the driver bound to the calling thread.
+ *
+ * <p>A page object is built on first use and reused for the rest of the test, so
+ * a test only pays for the pages it touches. When the thread gets another driver,
+ * or the same pooled browser is handed out again, the container starts over.
+ *
+ * <pre>
+ * Pages.get(BannerFormPage.class).fillBannerForm(name, phone, otp);
+ * </pre>
+ */
+public final class Pages {
+
+    private static final Logger logger = LoggerFactory.getLogger(Pages.class);
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor(WebDriver.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(type.getSimpleName() + " has no public (WebDriver) constructor", e);
+            }
+        }
+    };
+
+    private static final ThreadLocal<Container> CONTAINER = ThreadLocal.withInitial(Container::new);
+
+    private static final class Container {
+        private final Map<Class<?>, BasePage> pages = new HashMap<>();
+        private long leaseId;
+    }
+
+    private Pages() {
+    }
+
+    /**
+     * @return the page object of the given type for the current thread's driver
+     * @throws IllegalStateException if this thread has not initialized a driver
+     */
+    public static <T extends BasePage> T get(Class<T> type) {
+        WebDriver driver = DriverManager.getDriver();
+        Container container = CONTAINER.get();
+        if (container.leaseId != DriverManager.leaseId()) {
+            container.pages.clear();
+            container.leaseId = DriverManager.leaseId();
+        }
+        BasePage page = container.pages.get(type);
+        if (page == null) {
+            page = create(type, driver);
+            container.pages.put(type, page);
+        }
+        return type.cast(page);
+    }
+
+    /**
+     * Forgets the page objects of the current thread.
+     */
+    public static void clear() {
+        CONTAINER.remove();
+    }
+
+    private static BasePage create(Class<? extends BasePage> type, WebDriver driver) {
+        try {
+            return (BasePage) CONSTRUCTORS.get(type).newInstance(driver);
+        } catch (InvocationTargetException e) {
+            logger.error("Failed to create {}: {}", type.getSimpleName(), e.getCause().getMessage(), e.getCause());
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException("Failed to create " + type.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -1,21 +1,16 @@
 package pageObject;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-
-public class PlanningOptionsPage {
+public class PlanningOptionsPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(PlanningOptionsPage.class);
-    private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators using @FindBy
     @FindBy(xpath = "//div[@class='BFC_flowSteps_planingOptions_section__3nolj']//button[contains(text(), 'Rent Out')]")
@@ -41,86 +36,136 @@ public class PlanningOptionsPage {
 
     // Constructor
     public PlanningOptionsPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        super(driver);
         logger.info("PlanningOptionsPage initialized");
     }
 
+    /**
+     * @return true when the funnel shows the planning options step
+     */
+    public boolean isOpen() {
+        return isShown(rentOutButton);
+    }
+
     // Page Actions
     public void selectRentOut() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectRentOut");
         try {
             logger.info("Selecting 'Rent Out' option");
-            wait.until(ExpectedConditions.visibilityOf(rentOutButton));
-            wait.until(ExpectedConditions.elementToBeClickable(rentOutButton)).click();
+            waitUntilReady(wait, rentOutButton).click();
             logger.info("'Rent Out' option selected successfully");
+            recordStep("selectRentOut", start);
         } catch (Exception e) {
             logger.error("Failed to select 'Rent Out': {}", e.getMessage(), e);
+            recordFailure("selectRentOut");
             throw e;
         }
     }
 
     public void selectEndToEndInteriors() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectEndToEndInteriors");
         try {
             logger.info("Selecting 'End-to-end Interiors' option");
-            wait.until(ExpectedConditions.visibilityOf(endToEndInteriorsButton));
-            wait.until(ExpectedConditions.elementToBeClickable(endToEndInteriorsButton)).click();
+            waitUntilReady(wait, endToEndInteriorsButton).click();
             logger.info("'End-to-end Interiors' option selected successfully");
+            recordStep("selectEndToEndInteriors", start);
         } catch (Exception e) {
             logger.error("Failed to select 'End-to-end Interiors': {}", e.getMessage(), e);
+            recordFailure("selectEndToEndInteriors");
             throw e;
         }
     }
 
     public void selectBudget() {
+        selectBudget(2);
+    }
+
+    /**
+     * Opens the budget dropdown and picks the option at {@code index}, as numbered by the
+     * ids of the dropdown entries (budgetDropValueStep_&lt;index&gt;).
+     */
+    public void selectBudget(int index) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectBudget");
         try {
-            logger.info("Selecting budget option");
-            wait.until(ExpectedConditions.elementToBeClickable(selectBudgetText)).click();
+            logger.info("Selecting budget option {}", index);
+            waitUntilReady(wait, selectBudgetText).click();
             logger.info("Budget dropdown clicked");
 
-            wait.until(ExpectedConditions.visibilityOf(budgetDropdownOption));
-            wait.until(ExpectedConditions.elementToBeClickable(budgetDropdownOption)).click();
+            WebElement option = index == 2
+                    ? waitUntilReady(wait, budgetDropdownOption)
+                    : waitUntilReady(wait, By.id("budgetDropValueStep_" + index));
+            option.click();
             logger.info("Budget option selected successfully");
+            recordStep("selectBudget", start);
         } catch (Exception e) {
             logger.error("Failed to select budget: {}", e.getMessage(), e);
+            recordFailure("selectBudget");
             throw e;
         }
     }
 
     public void selectPossession() {
+        selectPossession(1);
+    }
+
+    /**
+     * Opens the possession dropdown and picks the option at {@code index}, as numbered by the
+     * ids of the dropdown entries (possession_month_dropdown_&lt;index&gt;).
+     */
+    public void selectPossession(int index) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectPossession");
         try {
-            logger.info("Selecting possession option");
-            wait.until(ExpectedConditions.elementToBeClickable(selectPossessionText)).click();
+            logger.info("Selecting possession option {}", index);
+            waitUntilReady(wait, selectPossessionText).click();
             logger.info("Possession dropdown clicked");
 
-            wait.until(ExpectedConditions.visibilityOf(possessionDropdownOption));
-            wait.until(ExpectedConditions.elementToBeClickable(possessionDropdownOption)).click();
+            WebElement option = index == 1
+                    ? waitUntilReady(wait, possessionDropdownOption)
+                    : waitUntilReady(wait, By.id("possession_month_dropdown_" + index));
+            option.click();
             logger.info("Possession option selected successfully");
+            recordStep("selectPossession", start);
         } catch (Exception e) {
             logger.error("Failed to select possession: {}", e.getMessage(), e);
+            recordFailure("selectPossession");
             throw e;
         }
     }
 
     public void clickNext() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("clickNext");
         try {
             logger.info("Clicking Next button");
-            wait.until(ExpectedConditions.elementToBeClickable(nextButton)).click();
+            waitUntilReady(wait, nextButton).click();
             logger.info("Next button clicked successfully");
+            waitForPageToSettle();
+            recordStep("clickNext", start);
         } catch (Exception e) {
             logger.error("Failed to click next button: {}", e.getMessage(), e);
+            recordFailure("clickNext");
             throw e;
         }
     }
 
     // Complete flow method
     public void fillPlanningOptions() {
+        fillPlanningOptions(2, 1);
+    }
+
+    public void fillPlanningOptions(int budgetIndex, int possessionIndex) {
+        long start = System.nanoTime();
         logger.info("Starting planning options fill process");
         selectRentOut();
         selectEndToEndInteriors();
-        selectBudget();
-        selectPossession();
+        selectBudget(budgetIndex);
+        selectPossession(possessionIndex);
         clickNext();
         logger.info("Planning options fill process completed");
+        recordStep("fillPlanningOptions", start);
     }
 }
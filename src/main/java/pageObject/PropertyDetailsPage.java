@@ -1,21 +1,17 @@
 package pageObject;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-
-public class PropertyDetailsPage {
+public class PropertyDetailsPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(PropertyDetailsPage.class);
-    private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators using @FindBy
     @FindBy(xpath = "//div[contains(@class,'BFC_flowSteps_listOf_house__3_f_E')]//p[normalize-space()='Apartment']/parent::div")
@@ -41,42 +37,59 @@ public class PropertyDetailsPage {
 
     // Constructor
     public PropertyDetailsPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        super(driver);
         logger.info("PropertyDetailsPage initialized");
     }
 
+    /**
+     * @return true when the funnel shows the property type step
+     */
+    public boolean isOpen() {
+        return isShown(apartmentOption);
+    }
+
     // Page Actions
     public void selectApartment() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectApartment");
         try {
             logger.info("Selecting Apartment option");
             wait.until(ExpectedConditions.elementToBeClickable(apartmentOption)).click();
             logger.info("Apartment option selected successfully");
+            recordStep("selectApartment", start);
         } catch (Exception e) {
             logger.error("Failed to select apartment: {}", e.getMessage(), e);
+            recordFailure("selectApartment");
             throw e;
         }
     }
 
     public void selectVilla() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectVilla");
         try {
             logger.info("Selecting Villa option");
             wait.until(ExpectedConditions.elementToBeClickable(villaOption)).click();
             logger.info("Villa option selected successfully");
+            recordStep("selectVilla", start);
         } catch (Exception e) {
             logger.error("Failed to select villa: {}", e.getMessage(), e);
+            recordFailure("selectVilla");
             throw e;
         }
     }
 
     public void selectIndependentHome() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("selectIndependentHome");
         try {
             logger.info("Selecting Independent Home option");
             wait.until(ExpectedConditions.elementToBeClickable(independentHomeOption)).click();
             logger.info("Independent Home option selected successfully");
+            recordStep("selectIndependentHome", start);
         } catch (Exception e) {
             logger.error("Failed to select independent home: {}", e.getMessage(), e);
+            recordFailure("selectIndependentHome");
             throw e;
         }
     }
@@ -100,65 +113,93 @@ public class PropertyDetailsPage {
     }
 
     public void select2BHK() {
+        selectBHK("2BHK");
+    }
+
+    /**
+     * Selects the floor plan button with the given label, e.g. 1BHK, 2BHK or 3BHK.
+     */
+    public void selectBHK(String bhk) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("select" + bhk);
         try {
-            logger.info("Selecting 2BHK option");
-            wait.until(ExpectedConditions.elementToBeClickable(bhk2Button)).click();
-            logger.info("2BHK option selected successfully");
+            logger.info("Selecting {} option", bhk);
+            if ("2BHK".equals(bhk)) {
+                wait.until(ExpectedConditions.elementToBeClickable(bhk2Button)).click();
+            } else {
+                wait.until(ExpectedConditions.elementToBeClickable(By.xpath(String.format(
+                        "//div[contains(@class,'BFC_flowSteps_selectFloorType_option__2UXKX')]//button[contains(text(), '%s')]",
+                        bhk)))).click();
+            }
+            logger.info("{} option selected successfully", bhk);
+            recordStep("select" + bhk, start);
         } catch (Exception e) {
-            logger.error("Failed to select 2BHK: {}", e.getMessage(), e);
+            logger.error("Failed to select {}: {}", bhk, e.getMessage(), e);
+            recordFailure("select" + bhk);
             throw e;
         }
     }
 
-    public void searchAndSelectProperty(String propertyName) throws InterruptedException {
+    public void searchAndSelectProperty(String propertyName) {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("searchAndSelectProperty");
         try {
             logger.info("Searching for property: {}", propertyName);
             wait.until(ExpectedConditions.elementToBeClickable(propertyAreaSection)).click();
             logger.info("Property search area clicked");
-            Thread.sleep(2000);
+            waitForPageToSettle();
             wait.until(ExpectedConditions.elementToBeClickable(propertySearchInput));
             propertySearchInput.clear();
             propertySearchInput.sendKeys(propertyName);
             logger.info("Property name entered in search box");
-            Thread.sleep(2000);
+            waitForPageToSettle();
             WebElement propertySearchResult = wait.until(
                     ExpectedConditions.elementToBeClickable(
                             org.openqa.selenium.By
                                     .xpath("//div[@class='pac-item']//span[@class='pac-item-query']")));
             propertySearchResult.click();
             logger.info("Property selected from search results");
+            recordStep("searchAndSelectProperty", start);
         } catch (Exception e) {
             logger.error("Failed to search and select property: {}", e.getMessage(), e);
+            recordFailure("searchAndSelectProperty");
             throw e;
         }
     }
 
     public void clickNext() {
+        long start = System.nanoTime();
+        WebDriverWait wait = waitFor("clickNext");
         try {
             logger.info("Clicking Next button");
             wait.until(ExpectedConditions.elementToBeClickable(nextButton)).click();
             logger.info("Next button clicked successfully");
 
             // Wait for page transition
-            logger.info("Waiting for page transition (5 seconds)");
-            Thread.sleep(5000);
+            logger.info("Waiting for page transition");
+            waitForPageToSettle();
             logger.info("Page transition wait completed");
-        } catch (InterruptedException e) {
-            logger.error("Thread interrupted during wait: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt();
+            recordStep("clickNext", start);
         } catch (Exception e) {
             logger.error("Failed to click next button: {}", e.getMessage(), e);
+            recordFailure("clickNext");
             throw e;
         }
     }
 
     // Complete flow method
-    public void fillPropertyDetails(String propertyName) throws InterruptedException {
+    public void fillPropertyDetails(String propertyName) {
+        fillPropertyDetails("Apartment", "2BHK", propertyName);
+    }
+
+    public void fillPropertyDetails(String propertyType, String bhk, String propertyName) {
+        long start = System.nanoTime();
         logger.info("Starting property details fill process");
-        selectApartment();
-        select2BHK();
+        selectPropertyType(propertyType);
+        selectBHK(bhk);
         searchAndSelectProperty(propertyName);
         clickNext();
         logger.info("Property details fill process completed");
+        recordStep("fillPropertyDetails", start);
     }
 }
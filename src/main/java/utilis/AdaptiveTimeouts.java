@@ -0,0 +1,72 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Derives per-step wait timeouts and polling intervals from {@link StepHistory}.
+ * A step with enough history gets {@code p99 x safety factor}, clamped to a
+ * minimum and maximum; a step without history falls back to the default timeout.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>ADAPTIVE_TIMEOUTS - set to false to always use the default (default true)</li>
+ *     <li>ADAPTIVE_MIN_SAMPLES - samples needed before learning a timeout (default 5)</li>
+ *     <li>ADAPTIVE_SAFETY_FACTOR - multiplier applied to p99 (default 3.0)</li>
+ *     <li>ADAPTIVE_MIN_TIMEOUT_MS / ADAPTIVE_MAX_TIMEOUT_MS - bounds (default 2000 / 30000)</li>
+ *     <li>DEFAULT_TIMEOUT_SECONDS - timeout for steps without history (default 10)</li>
+ * </ul>
+ */
+public final class AdaptiveTimeouts {
+
+    private static final long DEFAULT_POLL_MS = 500;
+    private static final long MIN_POLL_MS = 50;
+
+    private AdaptiveTimeouts() {
+    }
+
+    /**
+     * @return a wait whose timeout and polling interval fit the given step
+     */
+    public static WebDriverWait waitFor(WebDriver driver, String step) {
+        return new WebDriverWait(driver, timeoutFor(step), pollingFor(step));
+    }
+
+    public static Duration timeoutFor(String step) {
+        Duration defaultTimeout = Duration.ofSeconds(FrameworkConfig.getLong("DEFAULT_TIMEOUT_SECONDS", 10));
+        List<Long> samples = learnedSamples(step);
+        if (samples.isEmpty()) {
+            return defaultTimeout;
+        }
+        double safetyFactor = FrameworkConfig.getDouble("ADAPTIVE_SAFETY_FACTOR", 3.0);
+        long timeout = (long) (Percentiles.of(samples, 99) * safetyFactor);
+        long min = FrameworkConfig.getLong("ADAPTIVE_MIN_TIMEOUT_MS", 2000);
+        long max = FrameworkConfig.getLong("ADAPTIVE_MAX_TIMEOUT_MS", 30000);
+        return Duration.ofMillis(Math.min(max, Math.max(min, timeout)));
+    }
+
+    /**
+     * Polls about ten times within a typical (p50) execution of the step, never
+     * faster than every 50 ms and never slower than Selenium's default 500 ms.
+     */
+    public static Duration pollingFor(String step) {
+        List<Long> samples = learnedSamples(step);
+        if (samples.isEmpty()) {
+            return Duration.ofMillis(DEFAULT_POLL_MS);
+        }
+        long poll = Percentiles.of(samples, 50) / 10;
+        return Duration.ofMillis(Math.min(DEFAULT_POLL_MS, Math.max(MIN_POLL_MS, poll)));
+    }
+
+    private static List<Long> learnedSamples(String step) {
+        if (!FrameworkConfig.getBoolean("ADAPTIVE_TIMEOUTS", true)) {
+            return List.of();
+        }
+        List<Long> samples = StepHistory.samples(step);
+        return samples.size() >= FrameworkConfig.getInt("ADAPTIVE_MIN_SAMPLES", 5) ? samples : List.of();
+    }
+}
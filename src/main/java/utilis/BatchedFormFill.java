@@ -0,0 +1,84 @@
+package utilis;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills several React-controlled inputs in a single script execution instead of
+ * a click/clear/sendKeys round trip per field.
+ *
+ * <p>Values are written through the native value setter and followed by bubbling
+ * input and change events, which is what React listens to, so component state
+ * stays in sync. A field whose value does not stick or fails HTML validation
+ * (masked or keystroke-validated inputs) is handed to its fallback, which types
+ * it the normal way.
+ */
+public final class BatchedFormFill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchedFormFill.class);
+
+    // arguments[0]: list of [element, value]; returns the indexes of fields that need real typing
+    private static final String FILL_SCRIPT = """
+            var fields = arguments[0];
+            var rejected = [];
+            for (var i = 0; i < fields.length; i++) {
+              var el = fields[i][0], value = fields[i][1];
+              if (!el || el.disabled || el.readOnly || el.getClientRects().length === 0) { rejected.push(i); continue; }
+              var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+              var setter = Object.getOwnPropertyDescriptor(proto, 'value').set;
+              el.focus();
+              setter.call(el, value);
+              el.dispatchEvent(new Event('input', { bubbles: true }));
+              el.dispatchEvent(new Event('change', { bubbles: true }));
+              el.blur();
+              if (el.value !== value || (el.checkValidity && !el.checkValidity())) { rejected.push(i); }
+            }
+            return rejected;
+            """;
+
+    /**
+     * An input, the value to put in it and how to type it if the fast path is rejected.
+     */
+    public static final class Field {
+        private final WebElement input;
+        private final String value;
+        private final Runnable fallback;
+
+        public Field(WebElement input, String value, Runnable fallback) {
+            this.input = input;
+            this.value = value;
+            this.fallback = fallback;
+        }
+    }
+
+    private BatchedFormFill() {
+    }
+
+    /**
+     * Fills all fields in one round trip and runs the fallback of every field the
+     * page did not accept.
+     *
+     * @return number of fields that needed the fallback
+     */
+    public static int fill(WebDriver driver, List<Field> fields) {
+        List<List<Object>> arguments = new ArrayList<>();
+        for (Field field : fields) {
+            arguments.add(List.of(field.input, field.value));
+        }
+
+        Object result = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, arguments);
+        List<?> rejected = result instanceof List<?> list ? list : List.of();
+        for (Object index : rejected) {
+            Field field = fields.get(((Number) index).intValue());
+            logger.info("Batched fill rejected by field {}, typing it instead", ((Number) index).intValue());
+            field.fallback.run();
+        }
+        return rejected.size();
+    }
+}
@@ -0,0 +1,136 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Locator factory for PageFactory that remembers the element each {@code @FindBy}
+ * field resolved to, so repeated actions on the same element skip the findElement
+ * round trip.
+ *
+ * <p>Unlike {@code @CacheLookup} the cache is safe with re-rendering pages: a cached
+ * element is dropped when a call on it fails with a stale element reference (see
+ * {@link StaleRetryingFieldDecorator}) and every element of the page object is dropped
+ * when the DOM generation advances, which page objects do after waiting for the page
+ * to settle. {@code List<WebElement>} fields are never cached because a stale member
+ * cannot be detected on the list itself.
+ *
+ * <p>Hit and miss counts are kept for the whole JVM. Set LOCATOR_CACHE_ENABLED=false
+ * to look every element up on each access, as plain PageFactory does.
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+
+    private final SearchContext searchContext;
+    private final boolean enabled;
+    private long generation;
+
+    public CachingElementLocatorFactory(SearchContext searchContext) {
+        this.searchContext = searchContext;
+        this.enabled = FrameworkConfig.getBoolean("LOCATOR_CACHE_ENABLED", true);
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new CachingElementLocator(new Annotations(field).buildBy());
+    }
+
+    /**
+     * Drops every element cached for this page object, e.g. after a re-render.
+     */
+    public void nextGeneration() {
+        generation++;
+    }
+
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return how often a cached element turned out to be stale and was looked up again
+     */
+    public static long staleInvalidations() {
+        return STALE.sum();
+    }
+
+    /**
+     * @return hits, misses, stale invalidations and the hit ratio, for reports
+     */
+    public static Map<String, Object> stats() {
+        long hits = hits();
+        long misses = misses();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("staleInvalidations", staleInvalidations());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : Math.round(hits * 10000.0 / (hits + misses)) / 10000.0);
+        return stats;
+    }
+
+    /**
+     * Locator of one field. Not thread-safe, like the page object that owns it.
+     */
+    public final class CachingElementLocator implements ElementLocator {
+
+        private final By by;
+        private WebElement cached;
+        private long cachedGeneration;
+
+        private CachingElementLocator(By by) {
+            this.by = by;
+        }
+
+        @Override
+        public WebElement findElement() {
+            if (enabled && cached != null && cachedGeneration == generation) {
+                HITS.increment();
+                return cached;
+            }
+            MISSES.increment();
+            WebElement element = searchContext.findElement(by);
+            if (enabled) {
+                cached = element;
+                cachedGeneration = generation;
+            }
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return searchContext.findElements(by);
+        }
+
+        /**
+         * Drops the cached element after it went stale.
+         */
+        public void invalidate() {
+            if (cached != null) {
+                STALE.increment();
+                cached = null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "CachingElementLocator '" + by + "'";
+        }
+    }
+}
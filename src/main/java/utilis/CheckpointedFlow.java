@@ -0,0 +1,233 @@
+package utilis;
+
+import configurator.BrowserPool;
+import configurator.BrowserSession;
+import configurator.DriverManager;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Runs a multi-step flow, e.g. banner form, property details, planning options and
+ * meeting, with a checkpoint after every step, so a flaky step is retried from the
+ * last good state instead of rerunning the whole test.
+ *
+ * <p>A checkpoint is the URL and the {@link BrowserSession} (cookies and web storage)
+ * after a step. When a step fails with a {@link WebDriverException}, the checkpoint is
+ * restored, into the same browser if it still responds or into a new one otherwise
+ * (taken from the {@link BrowserPool} when it is enabled). Reloading a URL does not
+ * bring back every in-page state (the BFC funnel is a modal on one URL), so the step
+ * is only run again when its ready probe confirms the page is back where the step
+ * starts. Without a probe, or when the probe fails, the flow falls back to a full
+ * rerun from the first step, unless a step that must not run twice (added with
+ * {@link #stepOnce}, e.g. one that submits a lead) is part of the flow; then the
+ * failure is thrown. Assertion errors and other exceptions are not retried. Every
+ * step works on the driver bound to the calling thread, so page objects should be
+ * taken from {@code pageObject.Pages} inside the step.
+ *
+ * <pre>
+ * CheckpointedFlow.named("BannerSignInTest")
+ *         .step("step1FillBannerForm", driver -&gt; Pages.get(BannerFormPage.class).fillBannerForm(name, phone, otp))
+ *         .step("step2FillPropertyDetails", driver -&gt; Pages.get(PropertyDetailsPage.class).fillPropertyDetails(search),
+ *                 driver -&gt; Pages.get(PropertyDetailsPage.class).isOpen())
+ *         .run();
+ * </pre>
+ *
+ * <p>Step durations and failed attempts are recorded in {@link StepMetrics} under
+ * the flow name. Settings: FLOW_STEP_RETRIES - retries per step (default 1),
+ * FLOW_READY_TIMEOUT_SECONDS - how long a ready probe may take to pass (default 5).
+ * When LOCATOR_SNAPSHOT_DIR is set, the DOM after every step is saved there for
+ * {@link LocatorProfiler}.
+ */
+public final class CheckpointedFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointedFlow.class);
+
+    private static final String SNAPSHOT_DIR = FrameworkConfig.getString("LOCATOR_SNAPSHOT_DIR", null);
+
+    /**
+     * One step of a flow.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void run(WebDriver driver);
+    }
+
+    private record NamedStep(String name, Step step, Predicate<WebDriver> ready, boolean repeatable) {
+    }
+
+    private record Checkpoint(String step, String url, BrowserSession session) {
+    }
+
+    private final String name;
+    private final List<NamedStep> steps = new ArrayList<>();
+    private int retries = FrameworkConfig.getInt("FLOW_STEP_RETRIES", 1);
+    private Duration readyTimeout = Duration.ofSeconds(FrameworkConfig.getLong("FLOW_READY_TIMEOUT_SECONDS", 5));
+
+    private CheckpointedFlow(String name) {
+        this.name = name;
+    }
+
+    public static CheckpointedFlow named(String name) {
+        return new CheckpointedFlow(name);
+    }
+
+    /**
+     * Adds a step that is retried from the previous checkpoint only through a full rerun,
+     * since nothing tells whether the restored page is where the step starts.
+     */
+    public CheckpointedFlow step(String stepName, Step step) {
+        steps.add(new NamedStep(stepName, step, null, true));
+        return this;
+    }
+
+    /**
+     * Adds a step that is retried from the previous checkpoint when {@code ready} confirms,
+     * after the restore, that the page is where the step starts.
+     */
+    public CheckpointedFlow step(String stepName, Step step, Predicate<WebDriver> ready) {
+        steps.add(new NamedStep(stepName, step, ready, true));
+        return this;
+    }
+
+    /**
+     * Adds a step that must not run twice, e.g. because it submits a lead or an OTP.
+     * It is never retried, and a flow containing it is never rerun in full.
+     */
+    public CheckpointedFlow stepOnce(String stepName, Step step) {
+        steps.add(new NamedStep(stepName, step, null, false));
+        return this;
+    }
+
+    public CheckpointedFlow readyTimeout(Duration readyTimeout) {
+        this.readyTimeout = readyTimeout;
+        return this;
+    }
+
+    public CheckpointedFlow retries(int retries) {
+        this.retries = Math.max(0, retries);
+        return this;
+    }
+
+    /**
+     * Runs every step in order.
+     *
+     * @return how many retries were needed, full reruns included
+     * @throws RuntimeException the last failure of a step that failed more than the allowed retries,
+     *                          or that could not be retried safely
+     */
+    public int run() {
+        Checkpoint start = capture("start");
+        Checkpoint checkpoint = start;
+        int retried = 0;
+        int attempt = 0;
+        int fullReruns = 0;
+        for (int index = 0; index < steps.size(); ) {
+            NamedStep step = steps.get(index);
+            long begin = System.nanoTime();
+            try {
+                step.step().run(DriverManager.getDriver());
+                StepMetrics.record(name, step.name(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            } catch (WebDriverException e) {
+                StepMetrics.recordFailure(name, step.name());
+                FailureArtifacts.capture(DriverManager.getDriver(), name + "." + step.name(), e);
+                if (!step.repeatable() || attempt >= retries) {
+                    logger.error("{}.{} failed after {} attempts: {}", name, step.name(), attempt + 1, e.getMessage());
+                    throw e;
+                }
+                attempt++;
+                retried++;
+                logger.warn("{}.{} failed (attempt {} of {}), resuming from checkpoint '{}': {}", name, step.name(),
+                        attempt, retries + 1, checkpoint.step(), e.getMessage());
+                restore(checkpoint);
+                if (isReady(step)) {
+                    continue;
+                }
+                if (fullReruns >= retries || steps.stream().anyMatch(other -> !other.repeatable())) {
+                    logger.error("{}.{}: page not back at the start of the step after restoring '{}', and the flow"
+                            + " cannot be rerun in full", name, step.name(), checkpoint.step());
+                    throw e;
+                }
+                fullReruns++;
+                logger.warn("{}.{}: page not back at the start of the step after restoring '{}', rerunning the flow"
+                        + " from the start", name, step.name(), checkpoint.step());
+                restore(start);
+                checkpoint = start;
+                index = 0;
+                continue;
+            } catch (RuntimeException | Error e) {
+                StepMetrics.recordFailure(name, step.name());
+                throw e;
+            }
+            attempt = 0;
+            checkpoint = capture(step.name());
+            if (SNAPSHOT_DIR != null) {
+                LocatorProfiler.captureSnapshot(DriverManager.getDriver(), Paths.get(SNAPSHOT_DIR), name + "-" + step.name());
+            }
+            index++;
+        }
+        if (retried > 0) {
+            logger.info("{} completed after {} step retries", name, retried);
+        }
+        return retried;
+    }
+
+    // True when the step's probe confirms the restored page is where the step starts
+    private boolean isReady(NamedStep step) {
+        if (step.ready() == null) {
+            return false;
+        }
+        try {
+            return new WebDriverWait(DriverManager.getDriver(), readyTimeout).until(driver -> {
+                try {
+                    return step.ready().test(driver);
+                } catch (WebDriverException e) {
+                    return false;
+                }
+            });
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static Checkpoint capture(String step) {
+        WebDriver driver = DriverManager.getDriver();
+        return new Checkpoint(step, driver.getCurrentUrl(), BrowserSession.capture(driver));
+    }
+
+    private static void restore(Checkpoint checkpoint) {
+        WebDriver driver = DriverManager.getDriver();
+        if (!isResponsive(driver)) {
+            logger.warn("Browser no longer responds, restoring checkpoint '{}' into a new one", checkpoint.step());
+            // Released, not quit, so a pooled browser is retired and replaced by the pool
+            DriverManager.releaseDriver();
+            driver = BrowserPool.isEnabled() ? BrowserPool.getInstance().acquire() : DriverManager.createDriver();
+            DriverManager.setDriver(driver);
+        }
+        driver.get(checkpoint.url());
+        BrowserSession.clear(driver);
+        checkpoint.session().applyTo(driver);
+        driver.get(checkpoint.url());
+        QuiescenceWait.waitForQuiet(driver);
+    }
+
+    private static boolean isResponsive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+}
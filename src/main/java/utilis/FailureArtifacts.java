@@ -0,0 +1,280 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Screenshot, DOM and browser console of a failure, zipped and written to disk in the
+ * background and linked from the TestNG result.
+ *
+ * <p>The failing thread makes two browser calls, a screenshot and one script that returns
+ * the DOM, URL, title and the console buffer. Decoding, compressing and writing run on a
+ * small bounded executor; when its queue is full the artifacts are dropped with a warning
+ * rather than blocking the test. The console buffer is filled by a script installed when a
+ * driver is bound (at document start through DevTools on Chrome, so it also sees errors
+ * logged while the page loads).
+ *
+ * <p>Failed attempts inside a {@link CheckpointedFlow} are captured where they happen; a
+ * failed test without such a capture is captured before its driver is released. All
+ * captures of a test are linked from its result, also when a retried step let it pass.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>FAILURE_ARTIFACTS_ENABLED - capture on failure (default true)</li>
+ *     <li>FAILURE_ARTIFACTS_DIR - where the zips are written (default target/failure-artifacts)</li>
+ *     <li>FAILURE_ARTIFACTS_THREADS - background writers (default 1)</li>
+ *     <li>FAILURE_ARTIFACTS_QUEUE - captures waiting to be written before new ones are dropped (default 16)</li>
+ * </ul>
+ */
+public final class FailureArtifacts {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifacts.class);
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("FAILURE_ARTIFACTS_ENABLED", true);
+    private static final Path DIR = Paths.get(FrameworkConfig.getString("FAILURE_ARTIFACTS_DIR", "target/failure-artifacts"));
+
+    private static final String CONSOLE_SCRIPT = """
+            (function () {
+              if (window.__hlConsole) { return; }
+              var buffer = window.__hlConsole = [];
+              var push = function (level, message) {
+                buffer.push({ level: level, time: Date.now(), message: String(message).slice(0, 2000) });
+                if (buffer.length > 200) { buffer.shift(); }
+              };
+              ['error', 'warn', 'info', 'log'].forEach(function (level) {
+                var original = console[level];
+                console[level] = function () {
+                  try {
+                    push(level, Array.prototype.map.call(arguments, function (a) {
+                      try { return typeof a === 'string' ? a : JSON.stringify(a); } catch (e) { return String(a); }
+                    }).join(' '));
+                  } catch (e) {}
+                  return original.apply(console, arguments);
+                };
+              });
+              window.addEventListener('error', function (e) { push('uncaught', e.message + ' (' + e.filename + ':' + e.lineno + ')'); });
+              window.addEventListener('unhandledrejection', function (e) { push('unhandledrejection', e.reason); });
+            })();
+            """;
+
+    private static final String STATE_SCRIPT = """
+            return {
+              url: location.href,
+              title: document.title,
+              dom: '<!DOCTYPE html>' + document.documentElement.outerHTML,
+              console: window.__hlConsole || []
+            };
+            """;
+
+    private static final ThreadPoolExecutor WRITER = writer();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    // Queued or running writes; the executor's own counts miss a task between queue and worker
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final ThreadLocal<List<Path>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+    private static final Map<WebDriver, Boolean> PREPARED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FailureArtifacts() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Installs the console buffer in the driver's current page and, through DevTools,
+     * in every page it loads from now on.
+     */
+    public static void prepare(WebDriver driver) {
+        if (!ENABLED || PREPARED.putIfAbsent(driver, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", CONSOLE_SCRIPT));
+            }
+            ((JavascriptExecutor) driver).executeScript(CONSOLE_SCRIPT);
+        } catch (Exception e) {
+            logger.debug("Console capture unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Grabs the browser state and queues it for writing.
+     *
+     * @return the zip the artifacts will be written to, or null when nothing was captured
+     */
+    public static Path capture(WebDriver driver, String name, Throwable error) {
+        if (!ENABLED || driver == null) {
+            return null;
+        }
+        String screenshot = null;
+        Map<?, ?> state = Map.of();
+        try {
+            if (driver instanceof TakesScreenshot camera) {
+                screenshot = camera.getScreenshotAs(OutputType.BASE64);
+            }
+            Object result = ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+            if (result instanceof Map<?, ?> map) {
+                state = map;
+            }
+        } catch (Exception e) {
+            logger.warn("Browser state for {} only partly captured: {}", name, e.getMessage());
+        }
+
+        Path zip = DIR.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + System.currentTimeMillis() + "-"
+                + SEQUENCE.incrementAndGet() + ".zip");
+        String encodedScreenshot = screenshot;
+        Map<?, ?> browserState = state;
+        String stackTrace = stackTrace(error);
+        PENDING.incrementAndGet();
+        try {
+            WRITER.execute(() -> {
+                try {
+                    write(zip, encodedScreenshot, browserState, stackTrace);
+                } finally {
+                    PENDING.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            PENDING.decrementAndGet();
+            logger.warn("Failure artifact queue is full, dropping artifacts of {}", name);
+            return null;
+        }
+        CAPTURED.get().add(zip);
+        logger.info("Failure artifacts of {} queued for {}", name, zip);
+        return zip;
+    }
+
+    /**
+     * Clears the captures of the previous test on this thread.
+     */
+    public static void startTest() {
+        CAPTURED.get().clear();
+    }
+
+    /**
+     * Captures a failed test that has no capture yet and links every capture of the test
+     * from its result.
+     */
+    public static void finishTest(WebDriver driver, ITestResult result) {
+        List<Path> captured = CAPTURED.get();
+        if (result.getStatus() == ITestResult.FAILURE && captured.isEmpty()) {
+            capture(driver, result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                    result.getThrowable());
+        }
+        if (captured.isEmpty()) {
+            return;
+        }
+        ITestResult previous = Reporter.getCurrentTestResult();
+        Reporter.setCurrentTestResult(result);
+        for (Path zip : captured) {
+            Reporter.log("<a href=\"" + zip.toAbsolutePath().toUri() + "\">failure artifacts: " + zip.getFileName() + "</a>");
+        }
+        Reporter.setCurrentTestResult(previous);
+        result.setAttribute("failureArtifacts", captured.stream().map(Path::toString).toList());
+        captured.clear();
+    }
+
+    /**
+     * Waits for queued artifacts to be written.
+     *
+     * @return true when everything was written within the timeout
+     */
+    public static boolean awaitWrites(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (PENDING.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("{} failure artifacts still pending", PENDING.get());
+                return false;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void write(Path zip, String screenshot, Map<?, ?> state, String stackTrace) {
+        try {
+            Files.createDirectories(zip.getParent());
+            try (OutputStream out = Files.newOutputStream(zip); ZipOutputStream archive = new ZipOutputStream(out)) {
+                if (screenshot != null) {
+                    entry(archive, "screenshot.png", Base64.getDecoder().decode(screenshot));
+                }
+                if (state.get("dom") != null) {
+                    entry(archive, "dom.html", String.valueOf(state.get("dom")).getBytes(StandardCharsets.UTF_8));
+                }
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("url", state.get("url"));
+                details.put("title", state.get("title"));
+                details.put("console", state.get("console") == null ? List.of() : state.get("console"));
+                entry(archive, "console.json", new Json().toJson(details).getBytes(StandardCharsets.UTF_8));
+                entry(archive, "error.txt", stackTrace.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write failure artifacts {}: {}", zip, e.getMessage(), e);
+        }
+    }
+
+    private static void entry(ZipOutputStream archive, String name, byte[] content) throws IOException {
+        archive.putNextEntry(new ZipEntry(name));
+        archive.write(content);
+        archive.closeEntry();
+    }
+
+    private static String stackTrace(Throwable error) {
+        if (error == null) {
+            return "";
+        }
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static ThreadPoolExecutor writer() {
+        int threads = Math.max(1, FrameworkConfig.getInt("FAILURE_ARTIFACTS_THREADS", 1));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, FrameworkConfig.getInt("FAILURE_ARTIFACTS_QUEUE", 16))), runnable -> {
+                    Thread thread = new Thread(runnable, "failure-artifacts");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
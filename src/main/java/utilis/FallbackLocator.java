@@ -0,0 +1,159 @@
+package utilis;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds an element that can be located in several ways, e.g. a date picker day
+ * that is matched by aria-label, by day text or by any element with the text.
+ *
+ * <p>All strategies are evaluated together in one script per poll, so a strategy
+ * that does not match costs nothing extra instead of a full timeout. The strategy
+ * that last succeeded for an element key is tried first on the next lookup. A broad
+ * catch-all strategy marked {@link Strategy#asLastResort()} is never promoted: it is
+ * always tried after all precise strategies, however often it wins.
+ */
+public final class FallbackLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FallbackLocator.class);
+
+    // arguments[0]: list of [kind, expression]; returns [index, element] of the first usable match
+    private static final String FIND_SCRIPT = """
+            var strategies = arguments[0];
+            var usable = function (el) {
+              if (!el || el.nodeType !== 1 || el.getClientRects().length === 0) { return false; }
+              var style = window.getComputedStyle(el);
+              return style.visibility !== 'hidden' && style.display !== 'none' && !el.disabled;
+            };
+            for (var i = 0; i < strategies.length; i++) {
+              var kind = strategies[i][0], expression = strategies[i][1];
+              try {
+                if (kind === 'xpath') {
+                  var result = document.evaluate(expression, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                  for (var j = 0; j < result.snapshotLength; j++) {
+                    if (usable(result.snapshotItem(j))) { return [i, result.snapshotItem(j)]; }
+                  }
+                } else {
+                  var nodes = document.querySelectorAll(expression);
+                  for (var k = 0; k < nodes.length; k++) {
+                    if (usable(nodes[k])) { return [i, nodes[k]]; }
+                  }
+                }
+              } catch (e) { /* an invalid expression must not hide the other strategies */ }
+            }
+            return null;
+            """;
+
+    private static final Map<String, String> LAST_WINNER = new ConcurrentHashMap<>();
+
+    /**
+     * One way of locating an element.
+     */
+    public static final class Strategy {
+        private final String name;
+        private final String kind;
+        private final String expression;
+        private final boolean lastResort;
+
+        private Strategy(String name, String kind, String expression, boolean lastResort) {
+            this.name = name;
+            this.kind = kind;
+            this.expression = expression;
+            this.lastResort = lastResort;
+        }
+
+        public static Strategy xpath(String name, String expression) {
+            return new Strategy(name, "xpath", expression, false);
+        }
+
+        public static Strategy css(String name, String expression) {
+            return new Strategy(name, "css", expression, false);
+        }
+
+        /**
+         * @return this strategy as a catch-all that may match unrelated elements, so it is
+         * only used when no precise strategy matches and is never tried first
+         */
+        public Strategy asLastResort() {
+            return new Strategy(name, kind, expression, true);
+        }
+
+        public boolean isLastResort() {
+            return lastResort;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + kind + ": " + expression + ")";
+        }
+    }
+
+    private FallbackLocator() {
+    }
+
+    /**
+     * Waits until any of the strategies matches a visible, enabled element.
+     *
+     * @param key        identifies the element across lookups, e.g. {@code MeetingSchedulePage.datePickerDay}
+     * @param strategies strategies in their default order of preference
+     * @throws TimeoutException if no strategy matched before the wait expired
+     */
+    public static WebElement find(WebDriver driver, WebDriverWait wait, String key, List<Strategy> strategies) {
+        List<Strategy> ordered = preferredOrder(key, strategies);
+        List<List<String>> arguments = new ArrayList<>();
+        for (Strategy strategy : ordered) {
+            arguments.add(List.of(strategy.kind, strategy.expression));
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        List<?> match = wait.until(d -> {
+            Object result = js.executeScript(FIND_SCRIPT, arguments);
+            return result instanceof List<?> list && !list.isEmpty() ? list : null;
+        });
+
+        Strategy winner = ordered.get(((Number) match.get(0)).intValue());
+        if (winner.isLastResort()) {
+            logger.warn("Located {} only with last-resort strategy {}", key, winner);
+        } else if (!winner.getName().equals(LAST_WINNER.put(key, winner.getName()))) {
+            logger.info("Located {} using strategy {}", key, winner);
+        }
+        return (WebElement) match.get(1);
+    }
+
+    /**
+     * @return name of the precise strategy that last located the element, or null if none did yet
+     */
+    public static String lastWinner(String key) {
+        return LAST_WINNER.get(key);
+    }
+
+    private static List<Strategy> preferredOrder(String key, List<Strategy> strategies) {
+        String preferred = LAST_WINNER.get(key);
+        List<Strategy> ordered = new ArrayList<>();
+        strategies.stream().filter(strategy -> !strategy.isLastResort()).forEach(ordered::add);
+        strategies.stream().filter(Strategy::isLastResort).forEach(ordered::add);
+        if (preferred != null) {
+            for (int i = 0; i < ordered.size(); i++) {
+                if (ordered.get(i).getName().equals(preferred)) {
+                    ordered.add(0, ordered.remove(i));
+                    break;
+                }
+            }
+        }
+        return ordered;
+    }
+}
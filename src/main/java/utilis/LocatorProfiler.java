@@ -0,0 +1,472 @@
+package utilis;
+
+import configurator.DriverManager;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Ranks the locators of the page objects by how expensive and brittle they are, so
+ * the slowest lookups can be fixed first.
+ *
+ * <p>Locators come from every {@code @FindBy} field of the classes in the pageObject
+ * package and from the XPath / CSS string literals in their sources (dynamic
+ * {@code By.xpath} and {@link FallbackLocator} strategies; concatenated values and
+ * format placeholders are replaced by sample values). Each locator gets a static cost
+ * score with findings (document-wide scans, text matching, generated CSS-module
+ * classes, positional indexes) and suggestions for a cheaper id, CSS or scoped XPath.
+ *
+ * <p>When DOM snapshots are available, every locator is also evaluated in a headless
+ * browser against each snapshot and timed inside the page, without WebDriver round
+ * trips. Snapshots are written by {@link #captureSnapshot}, e.g. after every step of a
+ * {@link CheckpointedFlow} when LOCATOR_SNAPSHOT_DIR is set.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=utilis.LocatorProfiler -DLOCATOR_SNAPSHOT_DIR=target/dom-snapshots
+ * </pre>
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>LOCATOR_SOURCE_DIR - page object sources (default src/main/java/pageObject)</li>
+ *     <li>LOCATOR_SNAPSHOT_DIR - directory of *.html DOM snapshots to time against (optional)</li>
+ *     <li>LOCATOR_PROFILE_RUNS - evaluations per locator and snapshot (default 50)</li>
+ *     <li>LOCATOR_REPORT_DIR - where locator-report.json and .txt are written (default target)</li>
+ * </ul>
+ */
+public final class LocatorProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorProfiler.class);
+
+    private static final String PAGE_PACKAGE = "pageObject";
+
+    // Generated CSS-module class such as BFC_flowSteps_selectMeeting_dateAndTime__3-mtW: stem + "__" + hash
+    private static final Pattern HASHED_CLASS = Pattern.compile("([A-Za-z][\\w-]*?)__[A-Za-z0-9_-]{5}\\b");
+    private static final Pattern STRING_CONCAT = Pattern.compile("\"\\s*\\+\\s*[^\"]+?\\s*\\+\\s*\"");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern CSS_CALL = Pattern.compile("(?:cssSelector|Strategy\\.css)\\(\\s*(?:\"[^\"]*\",\\s*)?\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern ID_ONLY_XPATH = Pattern.compile("^//(\\w+|\\*)\\[@id\\s*=\\s*'([^']+)'\\]$");
+    private static final Pattern ID_PREFIX_XPATH = Pattern.compile("^//(\\w+|\\*)\\[@id\\s*=\\s*'([^']+)'\\](//?.+)$");
+    private static final Pattern EXACT_CLASS_XPATH = Pattern.compile("^//(\\w+)\\[@class\\s*=\\s*'([^']+)'\\]$");
+
+    // arguments: kind, expression, runs; returns [average ms per evaluation, matches]
+    private static final String TIME_SCRIPT = """
+            var kind = arguments[0], expression = arguments[1], runs = arguments[2], matches = 0;
+            var evaluate = function () {
+              if (kind === 'xpath') {
+                return document.evaluate(expression, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;
+              }
+              if (kind === 'id') { return document.getElementById(expression) ? 1 : 0; }
+              if (kind === 'className') { return document.getElementsByClassName(expression).length; }
+              if (kind === 'name') { return document.getElementsByName(expression).length; }
+              return document.querySelectorAll(expression).length;
+            };
+            try { evaluate(); } catch (e) { return [-1, -1]; }
+            var start = performance.now();
+            for (var i = 0; i < runs; i++) { matches = evaluate(); }
+            return [(performance.now() - start) / runs, matches];
+            """;
+
+    // Copy of the document without scripts, so loading the snapshot does not start the application
+    private static final String SNAPSHOT_SCRIPT = """
+            var copy = document.documentElement.cloneNode(true);
+            copy.querySelectorAll('script, noscript, iframe').forEach(function (e) { e.remove(); });
+            return '<!DOCTYPE html>' + copy.outerHTML;
+            """;
+
+    /**
+     * One locator and what is known about its cost.
+     */
+    public static final class LocatorInfo {
+        private final String origin;
+        private final String kind;
+        private final String expression;
+        private final List<String> findings = new ArrayList<>();
+        private final List<String> suggestions = new ArrayList<>();
+        private int score;
+        private double measuredMs = -1;
+        private long matches = -1;
+        private String snapshot;
+
+        public LocatorInfo(String origin, String kind, String expression) {
+            this.origin = origin;
+            this.kind = kind;
+            this.expression = expression;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public List<String> getFindings() {
+            return findings;
+        }
+
+        public List<String> getSuggestions() {
+            return suggestions;
+        }
+
+        public double getMeasuredMs() {
+            return measuredMs;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("origin", origin);
+            map.put("kind", kind);
+            map.put("expression", expression);
+            map.put("score", score);
+            map.put("measuredMs", measuredMs < 0 ? null : Math.round(measuredMs * 1000) / 1000.0);
+            map.put("matches", matches < 0 ? null : matches);
+            map.put("snapshot", snapshot);
+            map.put("findings", findings);
+            map.put("suggestions", suggestions);
+            return map;
+        }
+    }
+
+    private LocatorProfiler() {
+    }
+
+    public static void main(String[] args) {
+        List<LocatorInfo> locators = new ArrayList<>(fromAnnotations(pageClasses()));
+        locators.addAll(fromSources(Paths.get(FrameworkConfig.getString("LOCATOR_SOURCE_DIR", "src/main/java/" + PAGE_PACKAGE))));
+        locators.forEach(LocatorProfiler::analyze);
+
+        String snapshotDir = FrameworkConfig.getString("LOCATOR_SNAPSHOT_DIR", null);
+        if (snapshotDir != null) {
+            measure(locators, Paths.get(snapshotDir), FrameworkConfig.getInt("LOCATOR_PROFILE_RUNS", 50));
+        }
+        rank(locators);
+        writeReport(locators, Paths.get(FrameworkConfig.getString("LOCATOR_REPORT_DIR", "target")));
+    }
+
+    /**
+     * Saves the current DOM, without scripts, as {@code <dir>/<name>.html} for later profiling.
+     */
+    public static void captureSnapshot(WebDriver driver, Path directory, String name) {
+        try {
+            Files.createDirectories(directory);
+            String html = (String) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+            Files.writeString(directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".html"), html,
+                    StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            logger.warn("Failed to capture DOM snapshot {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the locator of every {@code @FindBy}, {@code @FindBys} and {@code @FindAll} field of the classes
+     */
+    public static List<LocatorInfo> fromAnnotations(List<Class<?>> classes) {
+        List<LocatorInfo> locators = new ArrayList<>();
+        for (Class<?> type : classes) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                        && !field.isAnnotationPresent(FindAll.class)) {
+                    continue;
+                }
+                String origin = type.getSimpleName() + "." + field.getName();
+                By by = new Annotations(field).buildBy();
+                String description = by.toString();
+                int separator = description.indexOf(": ");
+                if (description.startsWith("By.") && separator > 0) {
+                    locators.add(new LocatorInfo(origin, description.substring(3, separator), description.substring(separator + 2)));
+                } else {
+                    locators.add(new LocatorInfo(origin, "chained", description));
+                }
+            }
+        }
+        return locators;
+    }
+
+    /**
+     * @return the XPath and CSS literals in the sources that are not part of a {@code @FindBy}
+     */
+    public static List<LocatorInfo> fromSources(Path sourceDir) {
+        List<LocatorInfo> locators = new ArrayList<>();
+        if (!Files.isDirectory(sourceDir)) {
+            logger.warn("Source directory {} not found, dynamic locators are not profiled", sourceDir);
+            return locators;
+        }
+        try (Stream<Path> files = Files.list(sourceDir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).sorted().toList()) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                String page = file.getFileName().toString().replace(".java", "");
+                for (int i = 0; i < lines.size(); i++) {
+                    String line = lines.get(i).trim();
+                    if (line.startsWith("//") || line.startsWith("*") || line.contains("@FindBy")) {
+                        continue;
+                    }
+                    String normalized = STRING_CONCAT.matcher(line).replaceAll("{value}");
+                    String origin = page + ":" + (i + 1);
+                    Matcher css = CSS_CALL.matcher(normalized);
+                    while (css.find()) {
+                        locators.add(new LocatorInfo(origin, "cssSelector", css.group(1)));
+                    }
+                    Matcher literal = STRING_LITERAL.matcher(normalized);
+                    while (literal.find()) {
+                        String value = literal.group(1).replace("\\\"", "\"");
+                        if (value.startsWith("/") || value.startsWith("./") || value.startsWith("(/")) {
+                            locators.add(new LocatorInfo(origin, "xpath", value));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read page object sources in {}: {}", sourceDir, e.getMessage(), e);
+        }
+        return locators;
+    }
+
+    /**
+     * Scores a locator (higher is more expensive) and fills in findings and suggestions.
+     */
+    public static LocatorInfo analyze(LocatorInfo locator) {
+        String expression = locator.expression.trim();
+        switch (locator.kind) {
+            case "id" -> locator.score = 1;
+            case "name" -> locator.score = 2;
+            case "className" -> locator.score = 3;
+            case "cssSelector" -> analyzeCss(locator, expression);
+            case "xpath" -> analyzeXpath(locator, expression);
+            default -> locator.score = 10;
+        }
+
+        Matcher hashed = HASHED_CLASS.matcher(expression);
+        if (hashed.find()) {
+            locator.score += 3;
+            locator.findings.add("depends on generated CSS-module class '" + hashed.group() + "', which changes with every build");
+            locator.suggestions.add("match the stable part of the class: [class*='" + hashed.group(1) + "__']");
+        }
+        return locator;
+    }
+
+    private static void analyzeCss(LocatorInfo locator, String css) {
+        locator.score = 3;
+        int descendants = css.split("\\s+(?![^\\[]*\\])").length - 1;
+        if (descendants > 0) {
+            locator.score += 2 * descendants;
+            locator.findings.add(descendants + " descendant combinator(s), matched right to left over every candidate");
+        }
+        if (css.matches(".*\\[[^\\]]*[*^$~|]=.*")) {
+            locator.score += 2;
+            locator.findings.add("substring attribute match cannot use the browser's id/class indexes");
+        }
+        Matcher id = Pattern.compile("^#([\\w-]+)$").matcher(css);
+        if (id.matches()) {
+            locator.suggestions.add("By.id(\"" + id.group(1) + "\")");
+        }
+    }
+
+    private static void analyzeXpath(LocatorInfo locator, String xpath) {
+        locator.score = 5;
+        boolean scoped = xpath.startsWith(".") || xpath.startsWith("id(");
+        if (xpath.startsWith("//*") || xpath.startsWith("(//*")) {
+            locator.score += 20;
+            locator.findings.add("document-wide scan of every element (//*)");
+        } else if (!scoped && (xpath.startsWith("//") || xpath.startsWith("(//"))) {
+            locator.score += 6;
+            locator.findings.add("document-wide scan of every element with this tag");
+        }
+        int innerDescendants = countOccurrences(xpath.substring(Math.min(2, xpath.length())), "//");
+        if (innerDescendants > 0) {
+            locator.score += 4 * innerDescendants;
+            locator.findings.add(innerDescendants + " nested descendant scan(s) (//)");
+        }
+        if (xpath.contains("text()") || xpath.contains("normalize-space()")) {
+            locator.score += 4;
+            locator.findings.add("text match: the text of every candidate is compared");
+        }
+        if (xpath.matches(".*contains\\(\\s*\\.\\s*,.*")) {
+            locator.score += 8;
+            locator.findings.add("contains(., ...) builds the string value of each candidate's whole subtree");
+        }
+        if (xpath.contains("parent::") || xpath.contains("ancestor::") || xpath.contains("preceding")) {
+            locator.score += 3;
+            locator.findings.add("reverse axis (parent/ancestor/preceding)");
+        }
+        if (xpath.matches(".*\\]\\[\\d+\\].*") || xpath.matches(".*\\)\\[\\d+\\].*")) {
+            locator.score += 1;
+            locator.findings.add("positional index breaks when options are added or reordered");
+        }
+        if (xpath.matches(".*@class\\s*=\\s*'[^']*'.*")) {
+            locator.findings.add("exact @class comparison breaks when a class is added or whitespace changes");
+        }
+        if (xpath.contains("{value}") || xpath.contains("%s") || xpath.contains("%d")) {
+            locator.findings.add("built at run time; profiled with placeholder values");
+        }
+
+        Matcher idOnly = ID_ONLY_XPATH.matcher(xpath);
+        Matcher idPrefix = ID_PREFIX_XPATH.matcher(xpath);
+        Matcher exactClass = EXACT_CLASS_XPATH.matcher(xpath);
+        if (idOnly.matches()) {
+            locator.suggestions.add("By.id(\"" + idOnly.group(2) + "\")");
+        } else if (idPrefix.matches()) {
+            locator.suggestions.add("scope under the id: driver.findElement(By.id(\"" + idPrefix.group(2)
+                    + "\")).findElement(By.xpath(\"." + idPrefix.group(3) + "\"))");
+        } else if (exactClass.matches()) {
+            locator.suggestions.add("By.cssSelector(\"" + exactClass.group(1) + "." + String.join(".",
+                    exactClass.group(2).trim().split("\\s+")) + "\")");
+        } else if (xpath.startsWith("//*")) {
+            locator.suggestions.add("restrict to a tag and a container with an id or stable class, "
+                    + "then use a relative .// XPath from that element");
+        } else if (!scoped && innerDescendants > 0) {
+            locator.suggestions.add("locate the first step once (By.id or CSS) and use a relative .// XPath for the rest");
+        }
+        if (xpath.contains("contains(text()")) {
+            locator.suggestions.add("prefer normalize-space()='...' on the element itself over contains(text(), ...)");
+        }
+    }
+
+    /**
+     * Times every locator against each snapshot in the directory in a headless browser.
+     * The snapshot where a locator matched (or the largest one if it matched nowhere) is
+     * reported.
+     */
+    public static void measure(List<LocatorInfo> locators, Path snapshotDir, int runs) {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            snapshots = files.filter(path -> path.toString().endsWith(".html")).sorted().toList();
+        } catch (IOException e) {
+            logger.warn("No DOM snapshots in {}: {}", snapshotDir, e.getMessage());
+            return;
+        }
+        if (snapshots.isEmpty()) {
+            logger.warn("No DOM snapshots in {}, reporting static scores only", snapshotDir);
+            return;
+        }
+
+        WebDriver driver = DriverManager.createHeadlessDriver();
+        try {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            for (Path snapshot : snapshots) {
+                driver.get("about:blank");
+                js.executeScript("document.open(); document.write(arguments[0]); document.close();",
+                        Files.readString(snapshot, StandardCharsets.UTF_8));
+                for (LocatorInfo locator : locators) {
+                    if ("chained".equals(locator.kind)) {
+                        continue;
+                    }
+                    String kind = "xpath".equals(locator.kind) ? "xpath" : locator.kind;
+                    List<?> result = (List<?>) js.executeScript(TIME_SCRIPT, kind, withSampleValues(locator.expression), runs);
+                    double millis = ((Number) result.get(0)).doubleValue();
+                    long matches = ((Number) result.get(1)).longValue();
+                    if (millis < 0) {
+                        locator.findings.add("invalid expression");
+                        continue;
+                    }
+                    boolean better = locator.matches <= 0 && matches > 0 || locator.matches <= 0 && millis > locator.measuredMs;
+                    if (locator.measuredMs < 0 || better) {
+                        locator.measuredMs = millis;
+                        locator.matches = matches;
+                        locator.snapshot = snapshot.getFileName().toString();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read DOM snapshot: {}", e.getMessage(), e);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Orders locators slowest first: measured ones by time, then the rest by score.
+     */
+    public static void rank(List<LocatorInfo> locators) {
+        locators.sort(Comparator.comparing((LocatorInfo locator) -> locator.measuredMs < 0)
+                .thenComparing(Comparator.comparingDouble((LocatorInfo locator) -> locator.measuredMs).reversed())
+                .thenComparing(Comparator.comparingInt(LocatorInfo::getScore).reversed())
+                .thenComparing(LocatorInfo::getOrigin));
+    }
+
+    private static void writeReport(List<LocatorInfo> locators, Path directory) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%-4s %-10s %-6s %-40s %s%n", "#", "time(ms)", "score", "locator", "expression"));
+        int rank = 1;
+        for (LocatorInfo locator : locators) {
+            text.append(String.format(Locale.ROOT, "%-4d %-10s %-6d %-40s %s%n", rank++,
+                    locator.measuredMs < 0 ? "-" : String.format(Locale.ROOT, "%.3f", locator.measuredMs),
+                    locator.score, locator.origin, locator.expression));
+            locator.findings.forEach(finding -> text.append("       ! ").append(finding).append(System.lineSeparator()));
+            locator.suggestions.forEach(suggestion -> text.append("       > ").append(suggestion).append(System.lineSeparator()));
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("locator-report.json"),
+                    new Json().toJson(locators.stream().map(LocatorInfo::toMap).toList()), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve("locator-report.txt"), text, StandardCharsets.UTF_8);
+            logger.info("Locator report with {} locators written to {}", locators.size(), directory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write locator report: {}", e.getMessage(), e);
+        }
+    }
+
+    private static List<Class<?>> pageClasses() {
+        List<Class<?>> classes = new ArrayList<>();
+        try {
+            Path dir = Paths.get(LocatorProfiler.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .resolve(PAGE_PACKAGE);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".class")).sorted().toList()) {
+                    String name = file.getFileName().toString().replace(".class", "");
+                    if (!name.contains("$")) {
+                        classes.add(Class.forName(PAGE_PACKAGE + "." + name));
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | ClassNotFoundException e) {
+            logger.error("Failed to list page object classes: {}", e.getMessage(), e);
+        }
+        return classes;
+    }
+
+    private static String withSampleValues(String expression) {
+        return expression.replace("{value}", "X").replace("%s", "X").replace("%d", "1");
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int index = text.indexOf(token); index >= 0; index = text.indexOf(token, index + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
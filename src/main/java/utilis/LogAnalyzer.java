@@ -0,0 +1,583 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds step timelines from the test execution logs and reports per-run and
+ * per-step durations, the slowest steps and where failures cluster.
+ *
+ * <p>The page objects log an opening line ("Starting banner form fill process",
+ * "Selecting Apartment option", "Entering name: ...") and a closing one ("Banner form
+ * fill process completed", "Apartment option selected successfully"), or an ERROR
+ * "Failed to ..." line. Progress lines inside an action ("Waiting for ...", "Looking for
+ * ...") do not open spans. Each thread and logger keeps a stack of open spans; a closing
+ * line ends the open span that shares the most words with it, so nested flows and
+ * openers that are never closed do not pair up wrongly.
+ *
+ * <p>All files are streamed together in timestamp order, so the per-worker files of one
+ * run land in the same run. A run starts at the {@link #RUN_START} line that
+ * {@code SuiteMetricsListener} logs when a suite starts, or after a gap in the log (for
+ * logs written before that line existed). Memory is bounded: durations go into log-scale histograms, only the most
+ * recent runs keep their own breakdown, and the number of distinct steps and error
+ * messages is capped. Both the old log pattern and the one with {@code [env|test]} are
+ * read.
+ *
+ * <p>With {@code --incremental}, each file is read from the byte offset where the previous
+ * incremental run stopped (from the start if the file shrank, i.e. was rotated), and the
+ * new offsets are stored, so a nightly report only covers what was appended since.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=utilis.LogAnalyzer -Dexec.args="--incremental"
+ * mvn -q compile exec:java -Dexec.mainClass=utilis.LogAnalyzer -Dexec.args="/var/ci/big-run.log"
+ * </pre>
+ *
+ * <p>Without file arguments, logs/test-execution.log and logs/test-execution-*.log are read.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>LOG_ANALYZER_STATE_FILE - byte offsets for incremental mode (default logs/log-analyzer-state.json)</li>
+ *     <li>LOG_ANALYZER_REPORT_DIR - where log-analysis.json is written (default target)</li>
+ *     <li>LOG_ANALYZER_MAX_RUNS - runs reported individually (default 20)</li>
+ *     <li>LOG_ANALYZER_RUN_GAP_MINUTES - silence that starts a new run (default 30)</li>
+ * </ul>
+ */
+public final class LogAnalyzer {
+
+    /**
+     * Message logged once at the start of every suite run.
+     */
+    public static final String RUN_START = "Suite run started:";
+
+    private static final Logger logger = LoggerFactory.getLogger(LogAnalyzer.class);
+
+    private static final Pattern LINE = Pattern.compile(
+            "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}) \\[([^\\]]+)\\] (\\w+)\\s+(\\S+)(?: \\[([^|\\]]*)\\|([^\\]]*)\\])? - (.*)$");
+    private static final Pattern TIMESTAMP_PREFIX = Pattern.compile("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final List<String> OPENERS = List.of("Starting ", "Selecting ", "Entering ", "Clicking ", "Searching ",
+            "Scheduling ");
+    private static final Set<String> STOP_WORDS = Set.of("starting", "selecting", "entering", "clicking", "searching",
+            "scheduling", "waiting", "looking", "for", "the", "and", "with", "option", "button", "successfully", "completed",
+            "process", "selected", "entered", "clicked", "failed");
+
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    private static final int MAX_STACK_DEPTH = 32;
+    private static final int MAX_STEPS = 2000;
+    private static final int MAX_ERRORS_PER_STEP = 20;
+
+    private final int maxRuns;
+    private final long runGapMillis;
+    private final Map<String, StepStats> steps = new HashMap<>();
+    private final Deque<Run> runs = new ArrayDeque<>();
+    private final Map<String, Deque<Span>> openSpans = new HashMap<>();
+    private long lines;
+    private long unclosedSpans;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * Duration histogram of one step, with failure counts and the most frequent errors.
+     */
+    public static final class StepStats {
+        // bucket i holds durations up to 2^(i/4) ms
+        private final long[] buckets = new long[168];
+        private final Map<String, Long> errors = new HashMap<>();
+        private long count;
+        private long failures;
+        private long totalMillis;
+        private long maxMillis;
+
+        void record(long millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            int bucket = millis <= 0 ? 0 : (int) Math.ceil(Math.log(millis) / Math.log(2) * 4);
+            buckets[Math.min(buckets.length - 1, Math.max(0, bucket))]++;
+        }
+
+        void recordFailure(String error) {
+            failures++;
+            if (errors.containsKey(error) || errors.size() < MAX_ERRORS_PER_STEP) {
+                errors.merge(error, 1L, Long::sum);
+            }
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long failures() {
+            return failures;
+        }
+
+        public long maxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * @return the upper bound of the histogram bucket holding the percentile, within 19%
+         */
+        public long percentile(double percentile) {
+            long rank = (long) Math.ceil(percentile / 100.0 * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(maxMillis, (long) Math.floor(Math.pow(2, i / 4.0)));
+                }
+            }
+            return maxMillis;
+        }
+
+        Map<String, Object> toMap(String step) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", step);
+            map.put("count", count);
+            map.put("failures", failures);
+            map.put("meanMs", count == 0 ? 0 : totalMillis / count);
+            map.put("p50Ms", percentile(50));
+            map.put("p95Ms", percentile(95));
+            map.put("maxMs", maxMillis);
+            Map<String, Long> topErrors = new LinkedHashMap<>();
+            errors.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(3)
+                    .forEach(error -> topErrors.put(error.getKey(), error.getValue()));
+            map.put("errors", topErrors);
+            return map;
+        }
+    }
+
+    private record Span(String step, long start, Set<String> words) {
+    }
+
+    private static final class Run {
+        private final String id;
+        private final Map<String, StepStats> steps = new TreeMap<>();
+        private long end;
+
+        private Run(String id, long start) {
+            this.id = id;
+            this.end = start;
+        }
+    }
+
+    public LogAnalyzer(int maxRuns, long runGapMillis) {
+        this.maxRuns = Math.max(1, maxRuns);
+        this.runGapMillis = runGapMillis;
+    }
+
+    public static void main(String[] args) {
+        boolean incremental = Arrays.asList(args).contains("--incremental");
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                files.add(Paths.get(arg));
+            }
+        }
+        if (files.isEmpty()) {
+            files.addAll(defaultFiles(Paths.get(FrameworkConfig.getString("LOG_DIR", "logs"))));
+        }
+
+        Path stateFile = Paths.get(FrameworkConfig.getString("LOG_ANALYZER_STATE_FILE", "logs/log-analyzer-state.json"));
+        Map<Path, Long> offsets = incremental ? loadOffsets(stateFile) : new HashMap<>();
+        LogAnalyzer analyzer = new LogAnalyzer(FrameworkConfig.getInt("LOG_ANALYZER_MAX_RUNS", 20),
+                FrameworkConfig.getLong("LOG_ANALYZER_RUN_GAP_MINUTES", 30) * 60_000);
+        Map<Path, Long> ends = analyzer.analyze(files, offsets);
+        if (incremental) {
+            saveOffsets(stateFile, ends);
+        }
+
+        Path reportDir = Paths.get(FrameworkConfig.getString("LOG_ANALYZER_REPORT_DIR", "target"));
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve("log-analysis.json"), new Json().toJson(analyzer.report()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to write log analysis: {}", e.getMessage(), e);
+        }
+        System.out.print(analyzer.summary());
+    }
+
+    /**
+     * Streams the files together in timestamp order, each from its offset in {@code offsets}
+     * (0 when absent, or when the file is now shorter than the offset).
+     *
+     * @return per file, the offset just past its last complete line
+     */
+    public Map<Path, Long> analyze(List<Path> files, Map<Path, Long> offsets) {
+        Map<Path, Long> ends = new LinkedHashMap<>();
+        PriorityQueue<LineSource> queue = new PriorityQueue<>(Comparator.comparingLong(LineSource::timestamp));
+        List<LineSource> sources = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    logger.warn("Skipping {}: not a file", file);
+                    continue;
+                }
+                long offset = offsets.getOrDefault(file.toAbsolutePath().normalize(), 0L);
+                if (offset > Files.size(file)) {
+                    logger.info("{} is shorter than the stored offset, reading it from the start", file);
+                    offset = 0;
+                }
+                LineSource source = new LineSource(file, offset);
+                sources.add(source);
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+            while (!queue.isEmpty()) {
+                LineSource source = queue.poll();
+                accept(source.current);
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read logs: {}", e.getMessage(), e);
+        } finally {
+            for (LineSource source : sources) {
+                ends.put(source.file.toAbsolutePath().normalize(), source.offset);
+                source.close();
+            }
+        }
+        return ends;
+    }
+
+    /**
+     * Processes one log line; lines that do not start with a timestamp (stack traces) are ignored.
+     */
+    public void accept(String line) {
+        Matcher matcher = LINE.matcher(line);
+        if (!matcher.matches()) {
+            return;
+        }
+        lines++;
+        long timestamp = parseTimestamp(matcher.group(1));
+        String thread = matcher.group(2);
+        String level = matcher.group(3);
+        String loggerName = matcher.group(4);
+        String message = matcher.group(7);
+
+        boolean runMarker = message.startsWith(RUN_START);
+        if (runs.isEmpty() || runMarker || timestamp - lastTimestamp > runGapMillis) {
+            startRun(matcher.group(1), timestamp);
+        }
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        runs.peekLast().end = Math.max(runs.peekLast().end, timestamp);
+
+        String page = loggerName.substring(loggerName.lastIndexOf('.') + 1);
+        Deque<Span> stack = openSpans.computeIfAbsent(thread + "|" + loggerName, key -> new ArrayDeque<>());
+        if ("ERROR".equals(level) && message.startsWith("Failed to ")) {
+            Span span = closeMatching(stack, message);
+            String step = span != null ? span.step() : page + "." + normalize(message.split(":", 2)[0]);
+            stats(steps, step).recordFailure(normalizeError(message));
+            stats(runs.peekLast().steps, step).recordFailure(normalizeError(message));
+        } else if (isOpener(message)) {
+            if (stack.size() >= MAX_STACK_DEPTH) {
+                stack.pollFirst();
+                unclosedSpans++;
+            }
+            String subject = message.split(":", 2)[0];
+            stack.addLast(new Span(page + "." + normalize(subject), timestamp, words(subject)));
+        } else if (message.contains("successfully") || message.contains("completed")) {
+            Span span = closeMatching(stack, message);
+            if (span != null) {
+                long millis = Math.max(0, timestamp - span.start());
+                stats(steps, span.step()).record(millis);
+                stats(runs.peekLast().steps, span.step()).record(millis);
+            }
+        }
+    }
+
+    public Map<String, StepStats> steps() {
+        return steps;
+    }
+
+    public long lines() {
+        return lines;
+    }
+
+    /**
+     * @return the report: totals, slowest steps by p95, failure hotspots and the recent runs
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("lines", lines);
+        report.put("unclosedSpans", unclosedSpans + openSpans.values().stream().mapToLong(Deque::size).sum());
+        report.put("slowestSteps", steps.entrySet().stream()
+                .filter(entry -> entry.getValue().count() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, StepStats> entry) -> entry.getValue().percentile(95)).reversed())
+                .limit(20)
+                .map(entry -> entry.getValue().toMap(entry.getKey()))
+                .toList());
+        report.put("failureHotspots", steps.entrySet().stream()
+                .filter(entry -> entry.getValue().failures() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, StepStats> entry) -> entry.getValue().failures()).reversed())
+                .limit(20)
+                .map(entry -> entry.getValue().toMap(entry.getKey()))
+                .toList());
+        List<Map<String, Object>> recentRuns = new ArrayList<>();
+        for (Run run : runs) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("run", run.id);
+            summary.put("end", LocalDateTime.ofEpochSecond(run.end / 1000, (int) (run.end % 1000) * 1_000_000, ZoneOffset.UTC)
+                    .format(TIMESTAMP));
+            summary.put("failures", run.steps.values().stream().mapToLong(StepStats::failures).sum());
+            summary.put("steps", run.steps.entrySet().stream().map(entry -> entry.getValue().toMap(entry.getKey())).toList());
+            recentRuns.add(summary);
+        }
+        report.put("runs", recentRuns);
+        return report;
+    }
+
+    /**
+     * @return a plain-text version of the report for the console
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%d log lines, %d runs reported%n%nSlowest steps (p95)%n", lines, runs.size()));
+        text.append(String.format(Locale.ROOT, "  %-60s %7s %8s %8s %8s %6s%n", "step", "count", "p50 ms", "p95 ms", "max ms", "fail"));
+        for (Object item : (List<?>) report().get("slowestSteps")) {
+            appendStep(text, (Map<?, ?>) item);
+        }
+        text.append(String.format(Locale.ROOT, "%nFailure hotspots%n"));
+        for (Object item : (List<?>) report().get("failureHotspots")) {
+            Map<?, ?> step = (Map<?, ?>) item;
+            appendStep(text, step);
+            ((Map<?, ?>) step.get("errors")).forEach((error, count) ->
+                    text.append(String.format(Locale.ROOT, "      %4d x %s%n", (Long) count, error)));
+        }
+        text.append(String.format(Locale.ROOT, "%nRuns%n"));
+        for (Run run : runs) {
+            long spans = run.steps.values().stream().mapToLong(StepStats::count).sum();
+            long failures = run.steps.values().stream().mapToLong(StepStats::failures).sum();
+            text.append(String.format(Locale.ROOT, "  %s  %5d spans  %3d failures%n", run.id, spans, failures));
+        }
+        return text.toString();
+    }
+
+    private static void appendStep(StringBuilder text, Map<?, ?> step) {
+        text.append(String.format(Locale.ROOT, "  %-60s %7d %8d %8d %8d %6d%n", step.get("step"), (Long) step.get("count"),
+                (Long) step.get("p50Ms"), (Long) step.get("p95Ms"), (Long) step.get("maxMs"), (Long) step.get("failures")));
+    }
+
+    private void startRun(String id, long timestamp) {
+        // Spans never close across runs
+        openSpans.values().forEach(stack -> unclosedSpans += stack.size());
+        openSpans.clear();
+        runs.addLast(new Run(id, timestamp));
+        if (runs.size() > maxRuns) {
+            runs.pollFirst();
+        }
+    }
+
+    // Ends the span sharing the most words with the message (innermost on ties, innermost if none match); spans opened after it are dropped
+    private Span closeMatching(Deque<Span> stack, String message) {
+        if (stack.isEmpty()) {
+            return null;
+        }
+        Set<String> words = words(message.split(":", 2)[0]);
+        Iterator<Span> newestFirst = stack.descendingIterator();
+        int depth = 0;
+        int bestDepth = 0;
+        long bestOverlap = 0;
+        while (newestFirst.hasNext()) {
+            long overlap = newestFirst.next().words().stream().filter(words::contains).count();
+            if (overlap > bestOverlap) {
+                bestOverlap = overlap;
+                bestDepth = depth;
+            }
+            depth++;
+        }
+        for (int i = 0; i < bestDepth; i++) {
+            stack.pollLast();
+        }
+        unclosedSpans += bestDepth;
+        return stack.pollLast();
+    }
+
+    private StepStats stats(Map<String, StepStats> byStep, String step) {
+        StepStats stats = byStep.get(step);
+        if (stats == null) {
+            stats = byStep.computeIfAbsent(byStep.size() >= MAX_STEPS ? "(other)" : step, key -> new StepStats());
+        }
+        return stats;
+    }
+
+    private static boolean isOpener(String message) {
+        for (String opener : OPENERS) {
+            if (message.startsWith(opener)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (word.length() >= 3 && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return text.replaceAll("\\d+", "#").replaceAll("\\s+", " ").trim();
+    }
+
+    private static String normalizeError(String message) {
+        String error = normalize(message.replaceAll("'[^']*'", "'...'"));
+        return error.length() > 160 ? error.substring(0, 160) + "..." : error;
+    }
+
+    private static long parseTimestamp(String timestamp) {
+        return LocalDateTime.parse(timestamp, TIMESTAMP).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static List<Path> defaultFiles(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().matches("test-execution(-.+)?\\.log"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("No logs in {}: {}", dir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static Map<Path, Long> loadOffsets(Path stateFile) {
+        Map<Path, Long> offsets = new HashMap<>();
+        if (!Files.exists(stateFile)) {
+            return offsets;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(stateFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((file, offset) -> offsets.put(Paths.get(file), ((Number) offset).longValue()));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable analyzer state {}: {}", stateFile, e.getMessage());
+        }
+        return offsets;
+    }
+
+    private static void saveOffsets(Path stateFile, Map<Path, Long> ends) {
+        Map<String, Long> stored = new TreeMap<>();
+        loadOffsets(stateFile).forEach((file, offset) -> stored.put(file.toString(), offset));
+        ends.forEach((file, offset) -> stored.put(file.toString(), offset));
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            Files.writeString(stateFile, new Json().toJson(stored), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to save analyzer state {}: {}", stateFile, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads complete lines of one file and tracks the byte offset after the last one, so
+     * a line still being written is left for the next incremental run.
+     */
+    private static final class LineSource {
+        private final Path file;
+        private final InputStream in;
+        private final byte[] chunk = new byte[1 << 16];
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        private int chunkLength;
+        private int chunkPosition;
+        private long position;
+        private long offset;
+        private String current;
+        private long timestamp;
+
+        private LineSource(Path file, long offset) throws IOException {
+            this.file = file;
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            channel.position(offset);
+            this.in = Channels.newInputStream(channel);
+            this.offset = offset;
+            this.position = offset;
+        }
+
+        private long timestamp() {
+            return timestamp;
+        }
+
+        // Moves to the next complete line; continuation lines keep the timestamp of the entry they belong to
+        private boolean advance() throws IOException {
+            line.reset();
+            while (true) {
+                if (chunkPosition == chunkLength) {
+                    chunkLength = in.read(chunk);
+                    chunkPosition = 0;
+                    if (chunkLength <= 0) {
+                        chunkLength = 0;
+                        return false;
+                    }
+                }
+                int start = chunkPosition;
+                while (chunkPosition < chunkLength && chunk[chunkPosition] != '\n') {
+                    chunkPosition++;
+                }
+                int length = Math.min(chunkPosition - start, MAX_LINE_BYTES - line.size());
+                if (length > 0) {
+                    line.write(chunk, start, length);
+                }
+                position += chunkPosition - start;
+                if (chunkPosition < chunkLength) {
+                    chunkPosition++;
+                    position++;
+                    offset = position;
+                    current = line.toString(StandardCharsets.UTF_8);
+                    if (current.length() >= 23 && TIMESTAMP_PREFIX.matcher(current).lookingAt()) {
+                        timestamp = parseTimestamp(current.substring(0, 23));
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
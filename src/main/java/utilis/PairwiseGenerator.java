@@ -0,0 +1,150 @@
+package utilis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a small set of option combinations in which every combination of values of
+ * any {@code strength} parameters (every pair for strength 2) appears at least once.
+ * For the funnel variants (three property types, several BHK, budget and possession
+ * choices) this is a handful of rows instead of the full product.
+ *
+ * <p>The set is built greedily: each new row starts from the first combination not yet
+ * covered, and every other parameter gets the value that covers the most uncovered
+ * combinations. The result is deterministic for the same input, so the rows (and their
+ * cached results) are stable between runs.
+ */
+public final class PairwiseGenerator {
+
+    private PairwiseGenerator() {
+    }
+
+    /**
+     * @param parameters parameter name to its values, in the order the rows should list them
+     * @param strength   how many parameters' values must appear together; 2 for pairwise
+     * @return the rows, each a map from parameter name to value in the parameters' order
+     */
+    public static List<Map<String, String>> cover(Map<String, List<String>> parameters, int strength) {
+        List<String> names = new ArrayList<>(parameters.keySet());
+        List<List<String>> values = new ArrayList<>();
+        for (String name : names) {
+            List<String> options = parameters.get(name);
+            if (options == null || options.isEmpty()) {
+                throw new IllegalArgumentException("Parameter " + name + " has no values");
+            }
+            values.add(options);
+        }
+        int n = names.size();
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+        int t = Math.max(1, Math.min(strength, n));
+
+        Set<String> uncovered = new LinkedHashSet<>();
+        for (int[] group : groups(n, t)) {
+            addTuples(group, 0, new int[n], values, uncovered);
+        }
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        while (!uncovered.isEmpty()) {
+            int[] row = new int[n];
+            Arrays.fill(row, -1);
+            for (String assignment : uncovered.iterator().next().split(",")) {
+                String[] parts = assignment.split("=");
+                row[Integer.parseInt(parts[0])] = Integer.parseInt(parts[1]);
+            }
+            for (int parameter = 0; parameter < n; parameter++) {
+                if (row[parameter] >= 0) {
+                    continue;
+                }
+                int best = 0;
+                int bestGain = -1;
+                for (int value = 0; value < values.get(parameter).size(); value++) {
+                    row[parameter] = value;
+                    int gain = coveredBy(row, parameter, t, uncovered);
+                    if (gain > bestGain) {
+                        best = value;
+                        bestGain = gain;
+                    }
+                }
+                row[parameter] = best;
+            }
+            for (int[] group : groups(n, t)) {
+                uncovered.remove(key(group, row));
+            }
+            Map<String, String> combination = new LinkedHashMap<>();
+            for (int parameter = 0; parameter < n; parameter++) {
+                combination.put(names.get(parameter), values.get(parameter).get(row[parameter]));
+            }
+            rows.add(combination);
+        }
+        return rows;
+    }
+
+    // Uncovered combinations that include the parameter and only parameters already assigned in the row
+    private static int coveredBy(int[] row, int parameter, int t, Set<String> uncovered) {
+        int gain = 0;
+        for (int[] group : groups(row.length, t)) {
+            boolean relevant = false;
+            boolean assigned = true;
+            for (int member : group) {
+                relevant |= member == parameter;
+                assigned &= row[member] >= 0;
+            }
+            if (relevant && assigned && uncovered.contains(key(group, row))) {
+                gain++;
+            }
+        }
+        return gain;
+    }
+
+    private static void addTuples(int[] group, int position, int[] row, List<List<String>> values, Set<String> tuples) {
+        if (position == group.length) {
+            tuples.add(key(group, row));
+            return;
+        }
+        for (int value = 0; value < values.get(group[position]).size(); value++) {
+            row[group[position]] = value;
+            addTuples(group, position + 1, row, values, tuples);
+        }
+    }
+
+    private static String key(int[] group, int[] row) {
+        StringBuilder key = new StringBuilder();
+        for (int member : group) {
+            if (key.length() > 0) {
+                key.append(',');
+            }
+            key.append(member).append('=').append(row[member]);
+        }
+        return key.toString();
+    }
+
+    // Every ascending choice of t parameter indexes out of n
+    private static List<int[]> groups(int n, int t) {
+        List<int[]> groups = new ArrayList<>();
+        int[] group = new int[t];
+        for (int i = 0; i < t; i++) {
+            group[i] = i;
+        }
+        while (true) {
+            groups.add(group.clone());
+            int i = t - 1;
+            while (i >= 0 && group[i] == n - t + i) {
+                i--;
+            }
+            if (i < 0) {
+                return groups;
+            }
+            group[i]++;
+            for (int j = i + 1; j < t; j++) {
+                group[j] = group[j - 1] + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package utilis;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Nearest-rank percentile helpers for duration samples.
+ */
+public final class Percentiles {
+
+    private Percentiles() {
+    }
+
+    /**
+     * @param samples    durations, in any order
+     * @param percentile value between 0 and 100
+     * @return the nearest-rank percentile, or 0 when there are no samples
+     */
+    public static long of(Collection<Long> samples, double percentile) {
+        long[] values = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(values);
+        return ofSorted(values, percentile);
+    }
+
+    /**
+     * Same as {@link #of(Collection, double)} for an already sorted array.
+     */
+    public static long ofSorted(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+}
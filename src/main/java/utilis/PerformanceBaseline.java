@@ -0,0 +1,104 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Step durations of known-good runs, per environment and step, that new runs are
+ * compared with by {@link RegressionGate}. Steps are named like
+ * {@code PropertyDetailsPage.searchAndSelectProperty}. Only the most recent samples
+ * of each step are kept, so the baseline follows gradual, accepted changes.
+ *
+ * <p>Like the step history and test durations, the baseline is machine-local run data
+ * under logs/ and is not committed; CI keeps it between runs by caching that file.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>PERF_BASELINE_FILE - location of the store (default logs/perf-baseline.json)</li>
+ *     <li>PERF_BASELINE_MAX_SAMPLES - samples kept per step (default 500)</li>
+ * </ul>
+ */
+public final class PerformanceBaseline {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBaseline.class);
+
+    private final Path file;
+    private final int maxSamples;
+    // env -> step -> durations, oldest first
+    private final Map<String, Map<String, List<Long>>> samples;
+
+    private PerformanceBaseline(Path file, int maxSamples, Map<String, Map<String, List<Long>>> samples) {
+        this.file = file;
+        this.maxSamples = maxSamples;
+        this.samples = samples;
+    }
+
+    /**
+     * @return the baseline at PERF_BASELINE_FILE, empty if the file does not exist yet
+     */
+    public static PerformanceBaseline fromConfig() {
+        return load(Paths.get(FrameworkConfig.getString("PERF_BASELINE_FILE", "logs/perf-baseline.json")),
+                Math.max(1, FrameworkConfig.getInt("PERF_BASELINE_MAX_SAMPLES", 500)));
+    }
+
+    public static PerformanceBaseline load(Path file, int maxSamples) {
+        Map<String, Map<String, List<Long>>> samples = new TreeMap<>();
+        if (Files.exists(file)) {
+            try {
+                Map<String, Object> byEnv = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+                byEnv.forEach((env, steps) -> ((Map<?, ?>) steps).forEach((step, values) -> {
+                    List<Long> durations = new ArrayList<>();
+                    for (Object value : (List<?>) values) {
+                        durations.add(((Number) value).longValue());
+                    }
+                    samples.computeIfAbsent(env, e -> new TreeMap<>()).put(String.valueOf(step), durations);
+                }));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable performance baseline {}: {}", file, e.getMessage());
+            }
+        }
+        return new PerformanceBaseline(file, maxSamples, samples);
+    }
+
+    /**
+     * @return the baseline durations of a step, empty if it has none
+     */
+    public List<Long> samples(String env, String step) {
+        return samples.getOrDefault(env, Map.of()).getOrDefault(step, List.of());
+    }
+
+    /**
+     * Appends the durations of a known-good run, dropping the oldest beyond the limit.
+     */
+    public void add(String env, String step, List<Long> durations) {
+        List<Long> stored = samples.computeIfAbsent(env, e -> new TreeMap<>()).computeIfAbsent(step, s -> new ArrayList<>());
+        stored.addAll(durations);
+        if (stored.size() > maxSamples) {
+            stored.subList(0, stored.size() - maxSamples).clear();
+        }
+    }
+
+    public void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(samples), StandardCharsets.UTF_8);
+            logger.info("Performance baseline saved to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to save performance baseline {}: {}", file, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Per-step limits for {@link PerformanceMetrics}, read from a properties file with
+ * keys {@code <step>.<metric>}, e.g. {@code BannerFormPage.clickSubmit.lcpMs=2500}.
+ * A step of {@code *} applies to every step without its own limit for that metric.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>PERF_BUDGETS_FILE - file path or classpath resource (default perf-budgets.properties)</li>
+ *     <li>PERF_BUDGETS_MODE - off, warn (log violations) or fail (fail the action) (default warn)</li>
+ * </ul>
+ */
+public final class PerformanceBudgets {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudgets.class);
+
+    private final Map<String, Double> limits;
+    private final String mode;
+    private final List<Map<String, Object>> violations = new ArrayList<>();
+
+    private static final class Holder {
+        private static final PerformanceBudgets INSTANCE = new PerformanceBudgets(
+                load(FrameworkConfig.getString("PERF_BUDGETS_FILE", "perf-budgets.properties")),
+                FrameworkConfig.getString("PERF_BUDGETS_MODE", "warn"));
+    }
+
+    public PerformanceBudgets(Map<String, Double> limits, String mode) {
+        this.limits = Map.copyOf(limits);
+        this.mode = mode.toLowerCase();
+    }
+
+    public static PerformanceBudgets getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return the limit of a metric for a step, or null if it has none
+     */
+    public Double limitFor(String step, String metric) {
+        Double limit = limits.get(step + "." + metric);
+        return limit != null ? limit : limits.get("*." + metric);
+    }
+
+    /**
+     * Compares a sample with its budgets.
+     *
+     * @return the metrics of the sample that exceeded their limit
+     * @throws AssertionError in fail mode when a limit is exceeded
+     */
+    public List<String> check(PerformanceMetrics.Sample sample) {
+        List<String> exceeded = new ArrayList<>();
+        if ("off".equals(mode)) {
+            return exceeded;
+        }
+        sample.metrics().forEach((metric, value) -> {
+            Double limit = limitFor(sample.step(), metric);
+            if (limit != null && value.doubleValue() > limit) {
+                exceeded.add(metric + "=" + value + " (budget " + limit + ")");
+                Map<String, Object> violation = new LinkedHashMap<>();
+                violation.put("step", sample.step());
+                violation.put("env", sample.env());
+                violation.put("metric", metric);
+                violation.put("value", value);
+                violation.put("budget", limit);
+                synchronized (violations) {
+                    violations.add(violation);
+                }
+            }
+        });
+        if (!exceeded.isEmpty()) {
+            String message = "Performance budget exceeded in " + sample.step() + ": " + String.join(", ", exceeded);
+            if ("fail".equals(mode)) {
+                throw new AssertionError(message);
+            }
+            logger.warn(message);
+        }
+        return exceeded;
+    }
+
+    /**
+     * @return a copy of every violation seen so far
+     */
+    public List<Map<String, Object>> violations() {
+        synchronized (violations) {
+            return new ArrayList<>(violations);
+        }
+    }
+
+    private static Map<String, Double> load(String location) {
+        Properties properties = new Properties();
+        Path path = Paths.get(location);
+        try (InputStream in = Files.exists(path) ? Files.newInputStream(path)
+                : PerformanceBudgets.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                logger.debug("No performance budgets at {}", location);
+                return Map.of();
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable performance budgets {}: {}", location, e.getMessage());
+            return Map.of();
+        }
+        Map<String, Double> limits = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                limits.put(key.trim(), Double.parseDouble(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid performance budget {}={}", key, properties.getProperty(key));
+            }
+        }
+        return limits;
+    }
+}
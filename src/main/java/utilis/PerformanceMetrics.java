@@ -0,0 +1,344 @@
+package utilis;
+
+import configurator.BaseClass;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * Browser-side page speed metrics, attributed to the page-object action that caused them.
+ *
+ * <p>Each {@link #capture} reads what happened in the page since the previous capture:
+ * navigation timing after a page load, the latest LCP candidate, the layout shift score,
+ * long tasks and the resources fetched with their transfer sizes (Performance API), plus,
+ * when the driver is a local Chrome, the change in heap size, DOM node count and
+ * script/task time since the previous capture on the same driver. DevTools reports
+ * those as running totals of the browser, which would mean nothing per step. The
+ * observers are installed at document start through DevTools where possible, otherwise
+ * on first capture with buffered entries.
+ *
+ * <p>A composite step such as {@code BannerFormPage.fillBannerForm} is captured after the
+ * actions it calls, which have already taken their share. Its sample therefore adds up
+ * the samples of the actions captured on the same thread since the step started, plus
+ * what is left after the last one, so every level reports everything it caused.
+ *
+ * <p>Samples are exported as perf-metrics.json with per-step percentiles and are checked
+ * against {@link PerformanceBudgets}.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>PERF_METRICS_ENABLED - capture after every page-object action (default false)</li>
+ *     <li>PERF_MAX_SAMPLES - raw samples kept for the export (default 10000)</li>
+ * </ul>
+ */
+public final class PerformanceMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceMetrics.class);
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("PERF_METRICS_ENABLED", false);
+    private static final int MAX_SAMPLES = Math.max(1, FrameworkConfig.getInt("PERF_MAX_SAMPLES", 10_000));
+
+    private static final String INSTALL_SCRIPT = """
+            (function () {
+              if (window.__hlPerf || !window.PerformanceObserver) { return; }
+              var p = window.__hlPerf = { lcp: [], shifts: [], tasks: [], cursor: 0 };
+              try { performance.setResourceTimingBufferSize(2000); } catch (e) {}
+              var types = PerformanceObserver.supportedEntryTypes || [];
+              var observe = function (type, sink) {
+                if (types.indexOf(type) < 0) { return; }
+                try {
+                  new PerformanceObserver(function (list) {
+                    list.getEntries().forEach(function (e) { sink.push(e); });
+                  }).observe({ type: type, buffered: true });
+                } catch (e) {}
+              };
+              observe('largest-contentful-paint', p.lcp);
+              observe('layout-shift', p.shifts);
+              observe('longtask', p.tasks);
+            })();
+            """;
+
+    // Async: waits one task so buffered observer entries are delivered, then reports everything after the cursor
+    private static final String COLLECT_SCRIPT = INSTALL_SCRIPT + """
+            var done = arguments[arguments.length - 1];
+            setTimeout(function () {
+              var p = window.__hlPerf, out = {};
+              if (!p) { done(out); return; }
+              var cursor = p.cursor, now = performance.now();
+              var after = function (e) { return e.startTime >= cursor; };
+              if (cursor === 0) {
+                var nav = performance.getEntriesByType('navigation')[0];
+                if (nav) {
+                  out.ttfbMs = nav.responseStart - nav.requestStart;
+                  out.domContentLoadedMs = nav.domContentLoadedEventEnd;
+                  out.loadMs = nav.loadEventEnd;
+                  out.documentTransferBytes = nav.transferSize;
+                }
+              }
+              var lcp = p.lcp.filter(after);
+              if (lcp.length) { out.lcpMs = lcp[lcp.length - 1].startTime; }
+              var cls = p.shifts.filter(after).filter(function (e) { return !e.hadRecentInput; })
+                .reduce(function (sum, e) { return sum + e.value; }, 0);
+              if (cls > 0) { out.cls = cls; }
+              var tasks = p.tasks.filter(after);
+              if (tasks.length) {
+                out.longTaskCount = tasks.length;
+                out.longTaskTotalMs = tasks.reduce(function (sum, e) { return sum + e.duration; }, 0);
+              }
+              var resources = performance.getEntriesByType('resource').filter(after);
+              if (resources.length) {
+                out.resourceCount = resources.length;
+                out.transferBytes = resources.reduce(function (sum, e) { return sum + (e.transferSize || 0); }, 0);
+              }
+              p.cursor = now;
+              done(out);
+            }, 0);
+            """;
+
+    private static final Set<String> CDP_METRICS = Set.of("JSHeapUsedSize", "Nodes", "ScriptDuration", "TaskDuration");
+    // Point-in-time values; a composite step keeps the latest instead of a sum
+    private static final Set<String> LATEST_WINS = Set.of("lcpMs", "ttfbMs", "domContentLoadedMs", "loadMs");
+    private static final int MAX_UNCLAIMED = 64;
+
+    /**
+     * Metrics of one action.
+     */
+    public record Sample(String step, String env, long timestamp, Map<String, Number> metrics) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", step);
+            map.put("env", env);
+            map.put("timestamp", timestamp);
+            map.put("metrics", metrics);
+            return map;
+        }
+    }
+
+    // Metrics of an action, including its nested actions, keyed by when it started
+    private record Captured(long startNanos, Map<String, Number> metrics) {
+    }
+
+    private static final List<Sample> SAMPLES = Collections.synchronizedList(new ArrayList<>());
+    // Captures on this thread that no enclosing step has added up yet, oldest first
+    private static final ThreadLocal<Deque<Captured>> UNCLAIMED = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<WebDriver, Boolean> PREPARED = Collections.synchronizedMap(new WeakHashMap<>());
+    // DevTools totals at the previous capture of each driver
+    private static final Map<WebDriver, Map<String, Double>> DEVTOOLS_TOTALS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PerformanceMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Collects the metrics of everything the page did since the previous capture and
+     * attributes them to {@code step}. The DevTools totals are read on every capture, even
+     * when the page reported nothing; only a capture without any metric is not recorded.
+     *
+     * @throws AssertionError when a budget is exceeded and PERF_BUDGETS_MODE is fail
+     */
+    public static void capture(WebDriver driver, String step) {
+        capture(driver, step, System.nanoTime());
+    }
+
+    /**
+     * Like {@link #capture(WebDriver, String)} for a step that started at {@code startNanos}
+     * ({@link System#nanoTime()}); the samples of actions captured on this thread since then
+     * are added to it.
+     */
+    public static void capture(WebDriver driver, String step, long startNanos) {
+        Map<String, Number> own = new TreeMap<>();
+        try {
+            prepare(driver);
+            Map<?, ?> browser = (Map<?, ?>) ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+            if (browser != null) {
+                browser.forEach((name, value) -> own.put(String.valueOf(name), (Number) value));
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to collect performance metrics for {}: {}", step, e.getMessage());
+        }
+        // Read even when the page reported nothing, so the next delta starts from this action
+        own.putAll(devToolsMetrics(driver));
+
+        Deque<Captured> unclaimed = UNCLAIMED.get();
+        Deque<Captured> nested = new ArrayDeque<>();
+        while (!unclaimed.isEmpty() && unclaimed.peekLast().startNanos() >= startNanos) {
+            nested.addFirst(unclaimed.pollLast());
+        }
+        Map<String, Number> metrics = new TreeMap<>();
+        nested.forEach(action -> add(metrics, action.metrics()));
+        add(metrics, own);
+        if (metrics.isEmpty()) {
+            return;
+        }
+        unclaimed.addLast(new Captured(startNanos, metrics));
+        if (unclaimed.size() > MAX_UNCLAIMED) {
+            unclaimed.pollFirst();
+        }
+
+        Sample sample = new Sample(step, BaseClass.envName, System.currentTimeMillis(), metrics);
+        synchronized (SAMPLES) {
+            if (SAMPLES.size() < MAX_SAMPLES) {
+                SAMPLES.add(sample);
+            }
+        }
+        logger.debug("Performance of {}: {}", step, metrics);
+        PerformanceBudgets.getInstance().check(sample);
+    }
+
+    /**
+     * @return a copy of the samples collected so far
+     */
+    public static List<Sample> samples() {
+        synchronized (SAMPLES) {
+            return new ArrayList<>(SAMPLES);
+        }
+    }
+
+    public static void reset() {
+        SAMPLES.clear();
+    }
+
+    /**
+     * Writes perf-metrics.json (per-step p50/p95/max of every metric, budget
+     * violations and the raw samples) to the directory. Does nothing without samples.
+     */
+    public static void export(Path directory) {
+        List<Sample> samples = samples();
+        if (samples.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, List<Double>>> byStep = new TreeMap<>();
+        for (Sample sample : samples) {
+            Map<String, List<Double>> metrics = byStep.computeIfAbsent(sample.env() + "|" + sample.step(), k -> new TreeMap<>());
+            sample.metrics().forEach((name, value) -> metrics.computeIfAbsent(name, k -> new ArrayList<>()).add(value.doubleValue()));
+        }
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        byStep.forEach((key, metrics) -> {
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("env", key.substring(0, key.indexOf('|')));
+            step.put("step", key.substring(key.indexOf('|') + 1));
+            Map<String, Object> summaries = new LinkedHashMap<>();
+            metrics.forEach((name, values) -> {
+                Collections.sort(values);
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("count", values.size());
+                summary.put("p50", percentile(values, 50));
+                summary.put("p95", percentile(values, 95));
+                summary.put("max", values.get(values.size() - 1));
+                summaries.put(name, summary);
+            });
+            step.put("metrics", summaries);
+            steps.add(step);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("steps", steps);
+        report.put("budgetViolations", PerformanceBudgets.getInstance().violations());
+        report.put("samples", samples.stream().map(Sample::toMap).toList());
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("perf-metrics.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+            logger.info("Performance metrics of {} samples exported to {}", samples.size(), directory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to export performance metrics: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void prepare(WebDriver driver) {
+        if (PREPARED.putIfAbsent(driver, Boolean.TRUE) != null) {
+            return;
+        }
+        ((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT);
+        if (driver instanceof HasCdp cdp) {
+            try {
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));
+                cdp.executeCdpCommand("Performance.enable", Map.of());
+            } catch (Exception e) {
+                logger.debug("DevTools performance domain unavailable: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Number> devToolsMetrics(WebDriver driver) {
+        Map<String, Number> metrics = new TreeMap<>();
+        if (!(driver instanceof HasCdp cdp)) {
+            return metrics;
+        }
+        try {
+            Map<String, Double> totals = new TreeMap<>();
+            Object list = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+            for (Object item : (List<?>) list) {
+                Map<?, ?> metric = (Map<?, ?>) item;
+                String name = String.valueOf(metric.get("name"));
+                if (CDP_METRICS.contains(name)) {
+                    totals.put(name, ((Number) metric.get("value")).doubleValue());
+                }
+            }
+            // Durations count from Performance.enable, so the first capture measures from 0;
+            // heap and node counts are absolute and need an earlier capture to compare with
+            Map<String, Double> previous = DEVTOOLS_TOTALS.put(driver, totals);
+            Map<String, Double> before = previous == null ? Map.of() : previous;
+            totals.forEach((name, value) -> {
+                double delta = value - before.getOrDefault(name, 0.0);
+                switch (name) {
+                    case "ScriptDuration" -> metrics.put("scriptDurationMs", Math.round(delta * 1000));
+                    case "TaskDuration" -> metrics.put("taskDurationMs", Math.round(delta * 1000));
+                    case "JSHeapUsedSize" -> {
+                        if (before.containsKey(name)) {
+                            metrics.put("jsHeapUsedDeltaBytes", (long) delta);
+                        }
+                    }
+                    case "Nodes" -> {
+                        if (before.containsKey(name)) {
+                            metrics.put("domNodesDelta", (long) delta);
+                        }
+                    }
+                    default -> { }
+                }
+            });
+        } catch (Exception e) {
+            logger.debug("DevTools metrics unavailable: {}", e.getMessage());
+        }
+        return metrics;
+    }
+
+    private static void add(Map<String, Number> total, Map<String, Number> metrics) {
+        metrics.forEach((name, value) -> total.merge(name, value, (sum, next) -> {
+            if (LATEST_WINS.contains(name)) {
+                return next;
+            }
+            if ((sum instanceof Long || sum instanceof Integer) && (next instanceof Long || next instanceof Integer)) {
+                return sum.longValue() + next.longValue();
+            }
+            return sum.doubleValue() + next.doubleValue();
+        }));
+    }
+
+    private static double percentile(List<Double> sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+}
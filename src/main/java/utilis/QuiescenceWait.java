@@ -0,0 +1,165 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Waits until the page has settled: document loaded, no XHR/fetch in flight and no
+ * DOM mutations for a quiet window. Used in place of fixed Thread.sleep calls after
+ * actions that trigger React re-renders or network calls in the BFC flow.
+ *
+ * <p>A small instrumentation object on {@code window} counts pending XHR/fetch requests
+ * and records the time of the last DOM mutation under the BFC form root, falling back to
+ * the body until the root is rendered, so carousels or chat widgets elsewhere on the
+ * page do not hold the wait open. {@link #prepare(WebDriver)}, called
+ * when a driver is bound, installs it at document start through DevTools on Chrome, so
+ * requests a click starts before the first probe are counted too. Elsewhere the first
+ * probe installs it, and requests already in flight at that point are missed.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>QUIET_WINDOW_MS - how long the page must stay idle (default 500)</li>
+ *     <li>SETTLE_TIMEOUT_SECONDS - give up waiting after this long (default 5, the longest
+ *     sleep the wait replaced)</li>
+ *     <li>QUIET_ROOT_SELECTOR - CSS selector of the element whose mutations count
+ *     (default #bfc-form-container)</li>
+ *     <li>SETTLE_POLL_MS - polling interval (default 100)</li>
+ * </ul>
+ */
+public final class QuiescenceWait {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuiescenceWait.class);
+
+    // Counts pending XHR/fetch and records the last DOM mutation; does nothing when already installed
+    private static final String INSTALL_SCRIPT = """
+            (function () {
+              if (window.__hlQuiet) { return; }
+              var q = window.__hlQuiet = { pending: 0, lastActivity: Date.now(), since: Date.now() };
+              var touch = function () { q.lastActivity = Date.now(); };
+              var origSend = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                var done = false;
+                var finish = function () { if (!done) { done = true; q.pending--; touch(); } };
+                q.pending++;
+                this.addEventListener('loadend', finish);
+                try { return origSend.apply(this, arguments); } catch (e) { finish(); throw e; }
+              };
+              if (window.fetch) {
+                var origFetch = window.fetch;
+                window.fetch = function () {
+                  var done = false;
+                  var finish = function () { if (!done) { done = true; q.pending--; touch(); } };
+                  q.pending++;
+                  try {
+                    return origFetch.apply(this, arguments).then(
+                      function (r) { finish(); return r; },
+                      function (e) { finish(); throw e; });
+                  } catch (e) { finish(); throw e; }
+                };
+              }
+              // Mutations count only under the flow root, so widgets elsewhere on the page do not keep it busy
+              q.observe = function (selector) {
+                var root = (selector && document.querySelector(selector)) || document.body;
+                if (!root || root === q.root) { return; }
+                if (q.observer) { q.observer.disconnect(); }
+                q.root = root;
+                q.observer = new MutationObserver(touch);
+                q.observer.observe(root, { childList: true, subtree: true, characterData: true });
+                touch();
+              };
+            })();
+            """;
+
+    // arguments[0]: true on the first probe of a wait, which starts the quiet window from now;
+    // arguments[1]: selector of the root whose mutations count
+    private static final String PROBE_SCRIPT = INSTALL_SCRIPT + """
+            var q = window.__hlQuiet;
+            q.observe(arguments[1]);
+            if (arguments[0]) { q.since = Date.now(); }
+            return {
+              readyState: document.readyState,
+              pending: q.pending,
+              quietMs: Date.now() - Math.max(q.lastActivity, q.since)
+            };
+            """;
+
+    private static final Map<WebDriver, Boolean> PREPARED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private QuiescenceWait() {
+    }
+
+    /**
+     * Installs the instrumentation in the driver's current page and, through DevTools,
+     * at the start of every document it loads from now on.
+     */
+    public static void prepare(WebDriver driver) {
+        if (PREPARED.putIfAbsent(driver, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));
+            }
+            ((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT);
+        } catch (Exception e) {
+            logger.debug("Network tracking at document start unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the page to settle using the configured quiet window and timeout.
+     *
+     * @return true if the page settled, false if the timeout expired first
+     */
+    public static boolean waitForQuiet(WebDriver driver) {
+        return waitForQuiet(driver,
+                Duration.ofMillis(FrameworkConfig.getLong("QUIET_WINDOW_MS", 500)),
+                Duration.ofSeconds(FrameworkConfig.getLong("SETTLE_TIMEOUT_SECONDS", 5)));
+    }
+
+    /**
+     * Waits until the document is complete, no XHR/fetch is pending and the DOM has
+     * not changed for {@code quietWindow}. A timeout is logged, not thrown; the next
+     * explicit wait decides whether the step fails.
+     *
+     * @return true if the page settled, false if the timeout expired first
+     */
+    public static boolean waitForQuiet(WebDriver driver, Duration quietWindow, Duration timeout) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long quietMs = quietWindow.toMillis();
+        long start = System.nanoTime();
+        boolean[] firstProbe = {true};
+        String rootSelector = FrameworkConfig.getString("QUIET_ROOT_SELECTOR", "#bfc-form-container");
+
+        WebDriverWait settleWait = new WebDriverWait(driver, timeout,
+                Duration.ofMillis(FrameworkConfig.getLong("SETTLE_POLL_MS", 100)));
+        try {
+            settleWait.until(d -> {
+                Object result = js.executeScript(PROBE_SCRIPT, firstProbe[0], rootSelector);
+                firstProbe[0] = false;
+                if (!(result instanceof Map<?, ?> state)) {
+                    return false;
+                }
+                return "complete".equals(state.get("readyState"))
+                        && ((Number) state.get("pending")).longValue() <= 0
+                        && ((Number) state.get("quietMs")).longValue() >= quietMs;
+            });
+            logger.debug("Page settled in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Page did not settle within {} s, continuing", timeout.toSeconds());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Waits until an element can be clicked, checking everything in one script per poll:
+ * the element is visible, enabled, not covered by another element at its centre, and
+ * no loader matching the loader selector is showing. Chained
+ * {@code visibilityOf}/{@code elementToBeClickable}/{@code invisibilityOfElementLocated}
+ * waits cost several WebDriver calls per poll each; this costs one, so it can poll
+ * more often.
+ *
+ * <p>For a PageFactory element the cached element is passed to the script; when it went
+ * stale, the element is located again through the proxy and the next poll retries. For
+ * a {@link By} (id, name, class name, CSS or XPath) the lookup happens inside the script.
+ * On timeout the message names the last state seen, e.g. which element covered the target.
+ *
+ * <pre>
+ * ReadyCondition.pollingWait(wait).until(ReadyCondition.clickable(rentOutButton)).click();
+ * </pre>
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>READY_POLL_MS - polling interval of ready waits (default 100)</li>
+ *     <li>READY_LOADER_SELECTOR - CSS of loaders that must be gone (default the BFC time loader)</li>
+ * </ul>
+ */
+public final class ReadyCondition implements ExpectedCondition<WebElement> {
+
+    private static final String DEFAULT_LOADER = "[class*='BFC_flowSteps_timeLoader']";
+
+    // arguments: element or null, locator kind, locator value, loader selector or null
+    private static final String READY_SCRIPT = """
+            var el = arguments[0], kind = arguments[1], value = arguments[2], loader = arguments[3];
+            var shown = function (e) {
+              var r = e.getBoundingClientRect(), s = getComputedStyle(e);
+              return r.width > 0 && r.height > 0 && s.visibility !== 'hidden' && s.display !== 'none' && parseFloat(s.opacity) !== 0;
+            };
+            if (loader) {
+              var loaders = document.querySelectorAll(loader);
+              for (var i = 0; i < loaders.length; i++) {
+                if (shown(loaders[i])) { return { state: 'loader showing' }; }
+              }
+            }
+            if (!el && value) {
+              el = kind === 'xpath'
+                ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue
+                : document.querySelector(value);
+            }
+            if (!el) { return { state: 'not found' }; }
+            if (!shown(el)) { return { state: 'not visible' }; }
+            if (el.matches(':disabled') || el.getAttribute('aria-disabled') === 'true') { return { state: 'disabled' }; }
+            var rect = el.getBoundingClientRect();
+            if (rect.top < 0 || rect.left < 0 || rect.bottom > innerHeight || rect.right > innerWidth) {
+              el.scrollIntoView({ block: 'center', inline: 'center' });
+              rect = el.getBoundingClientRect();
+            }
+            var top = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);
+            if (top && top !== el && !el.contains(top)) {
+              var cls = typeof top.className === 'string' && top.className ? '.' + top.className.trim().split(/\\s+/)[0] : '';
+              return { state: 'covered by ' + top.tagName.toLowerCase() + cls };
+            }
+            return { state: 'ready', element: el };
+            """;
+
+    private final WebElement element;
+    private final By locator;
+    private final String kind;
+    private final String value;
+    private String loader = FrameworkConfig.getString("READY_LOADER_SELECTOR", DEFAULT_LOADER);
+    private String lastState = "not checked";
+
+    private ReadyCondition(WebElement element, By locator) {
+        this.element = element;
+        this.locator = locator;
+        String[] script = locator == null ? new String[]{null, null} : scriptLocator(locator);
+        this.kind = script[0];
+        this.value = script[1];
+    }
+
+    /**
+     * @return a condition that yields the element once it is visible, enabled, uncovered and no loader shows
+     */
+    public static ReadyCondition clickable(WebElement element) {
+        return new ReadyCondition(element, null);
+    }
+
+    /**
+     * @return a condition that yields the first element matching the locator once it is ready
+     */
+    public static ReadyCondition clickable(By locator) {
+        return new ReadyCondition(null, locator);
+    }
+
+    /**
+     * Waits for a different loader, or for none when {@code cssSelector} is null.
+     */
+    public ReadyCondition loader(String cssSelector) {
+        this.loader = cssSelector;
+        return this;
+    }
+
+    /**
+     * @return the wait, polling every READY_POLL_MS
+     */
+    public static WebDriverWait pollingWait(WebDriverWait wait) {
+        wait.pollingEvery(Duration.ofMillis(Math.max(10, FrameworkConfig.getLong("READY_POLL_MS", 100))));
+        return wait;
+    }
+
+    @Override
+    public WebElement apply(WebDriver driver) {
+        Object result;
+        try {
+            if (element == null && kind == null) {
+                result = ((JavascriptExecutor) driver).executeScript(READY_SCRIPT, driver.findElement(locator), null, null, loader);
+            } else {
+                result = ((JavascriptExecutor) driver).executeScript(READY_SCRIPT, element, kind, value, loader);
+            }
+        } catch (StaleElementReferenceException e) {
+            lastState = "stale";
+            relocate();
+            return null;
+        } catch (NoSuchElementException e) {
+            lastState = "not found";
+            return null;
+        }
+        if (!(result instanceof Map<?, ?> outcome)) {
+            lastState = "no result";
+            return null;
+        }
+        lastState = String.valueOf(outcome.get("state"));
+        if (!"ready".equals(lastState)) {
+            return null;
+        }
+        return element != null ? element : (WebElement) outcome.get("element");
+    }
+
+    /**
+     * @return the state of the last poll, e.g. "ready", "not visible" or "covered by div.overlay"
+     */
+    public String lastState() {
+        return lastState;
+    }
+
+    @Override
+    public String toString() {
+        return "element to be ready (visible, enabled, not covered" + (loader == null ? "" : ", no " + loader)
+                + ") " + (element != null ? element : locator) + "; last state: " + lastState;
+    }
+
+    // A call through a StaleRetryingFieldDecorator proxy drops its cached element and locates it again
+    private void relocate() {
+        if (element == null) {
+            return;
+        }
+        try {
+            element.isEnabled();
+        } catch (RuntimeException e) {
+            // Not there yet; the next poll tries again
+        }
+    }
+
+    // Locators the script can evaluate itself; others are found through the driver (kind null)
+    private static String[] scriptLocator(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return new String[]{null, null};
+        }
+        String using = description.substring(separator + 2);
+        return switch (description.substring(3, separator)) {
+            case "id" -> new String[]{"css", "[id=\"" + using.replace("\"", "\\\"") + "\"]"};
+            case "name" -> new String[]{"css", "[name=\"" + using.replace("\"", "\\\"") + "\"]"};
+            case "className" -> new String[]{"css", "." + using};
+            case "cssSelector" -> new String[]{"css", using};
+            case "xpath" -> new String[]{"xpath", using};
+            default -> new String[]{null, null};
+        };
+    }
+}
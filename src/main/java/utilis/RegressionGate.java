@@ -0,0 +1,172 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the step durations of the current run with a {@link PerformanceBaseline}.
+ *
+ * <p>A step regresses when its p95 grew by more than the allowed percentage and a
+ * one-sided Mann-Whitney U test says the current durations are larger than the
+ * baseline's with significance below alpha. The test uses the whole distribution,
+ * so one slow outlier in a small run does not fail the gate on its own. Steps with
+ * too few samples on either side are reported but never regress.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>PERF_GATE_MAX_P95_INCREASE_PCT - allowed p95 growth in percent (default 20)</li>
+ *     <li>PERF_GATE_ALPHA - significance level of the U test (default 0.05)</li>
+ *     <li>PERF_GATE_MIN_SAMPLES - samples needed on both sides to judge a step (default 5)</li>
+ * </ul>
+ */
+public final class RegressionGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegressionGate.class);
+
+    private final double maxP95IncreasePct;
+    private final double alpha;
+    private final int minSamples;
+
+    /**
+     * Outcome for one step.
+     */
+    public record StepComparison(String env, String step, int baselineCount, int currentCount,
+                                 long baselineP95, long currentP95, double p95ChangePct, double pValue,
+                                 boolean judged, boolean regressed) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("env", env);
+            map.put("step", step);
+            map.put("baselineCount", baselineCount);
+            map.put("currentCount", currentCount);
+            map.put("baselineP95", baselineP95);
+            map.put("currentP95", currentP95);
+            map.put("p95ChangePct", Math.round(p95ChangePct * 10) / 10.0);
+            map.put("pValue", Math.round(pValue * 10000) / 10000.0);
+            map.put("judged", judged);
+            map.put("regressed", regressed);
+            return map;
+        }
+    }
+
+    public RegressionGate(double maxP95IncreasePct, double alpha, int minSamples) {
+        this.maxP95IncreasePct = maxP95IncreasePct;
+        this.alpha = alpha;
+        this.minSamples = minSamples;
+    }
+
+    public static RegressionGate fromConfig() {
+        return new RegressionGate(FrameworkConfig.getDouble("PERF_GATE_MAX_P95_INCREASE_PCT", 20),
+                FrameworkConfig.getDouble("PERF_GATE_ALPHA", 0.05),
+                Math.max(2, FrameworkConfig.getInt("PERF_GATE_MIN_SAMPLES", 5)));
+    }
+
+    public StepComparison compare(String env, String step, List<Long> baseline, List<Long> current) {
+        long baselineP95 = baseline.isEmpty() ? 0 : Percentiles.of(baseline, 95);
+        long currentP95 = current.isEmpty() ? 0 : Percentiles.of(current, 95);
+        double change = baselineP95 == 0 ? 0 : (currentP95 - baselineP95) * 100.0 / baselineP95;
+        boolean judged = baseline.size() >= minSamples && current.size() >= minSamples;
+        double pValue = judged ? mannWhitneyGreater(current, baseline) : 1.0;
+        boolean regressed = judged && change > maxP95IncreasePct && pValue < alpha;
+        return new StepComparison(env, step, baseline.size(), current.size(), baselineP95, currentP95, change, pValue,
+                judged, regressed);
+    }
+
+    /**
+     * Compares every step recorded in {@link StepMetrics} during this run with the baseline.
+     */
+    public List<StepComparison> compareCurrentRun(PerformanceBaseline baseline) {
+        List<StepComparison> comparisons = new ArrayList<>();
+        StepMetrics.samples().forEach((key, values) -> {
+            String step = key.page() + "." + key.action();
+            List<Long> current = Arrays.stream(values).boxed().toList();
+            comparisons.add(compare(key.env(), step, baseline.samples(key.env(), step), current));
+        });
+        return comparisons;
+    }
+
+    /**
+     * Writes perf-regression.json with every comparison into the directory.
+     */
+    public static void export(Path directory, List<StepComparison> comparisons) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("perf-regression.json"),
+                    new Json().toJson(comparisons.stream().map(StepComparison::toMap).toList()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to export regression report: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One-sided Mann-Whitney U test with the normal approximation, tie and continuity
+     * corrections.
+     *
+     * @return the p-value of the hypothesis that {@code a} tends to be larger than {@code b}
+     */
+    public static double mannWhitneyGreater(List<Long> a, List<Long> b) {
+        int n1 = a.size();
+        int n2 = b.size();
+        int n = n1 + n2;
+        long[][] all = new long[n][2];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new long[]{a.get(i), 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new long[]{b.get(i), 1};
+        }
+        Arrays.sort(all, (x, y) -> Long.compare(x[0], y[0]));
+
+        double rankSumA = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && all[j][0] == all[i][0]) {
+                j++;
+            }
+            double averageRank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (all[k][1] == 0) {
+                    rankSumA += averageRank;
+                }
+            }
+            long ties = j - i;
+            tieTerm += ties * ties * ties - ties;
+            i = j;
+        }
+
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    private static double normalCdf(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    // Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7
+    private static double erf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        double y = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t + 0.254829592)
+                * t * Math.exp(-x * x);
+        return x >= 0 ? y : -y;
+    }
+}
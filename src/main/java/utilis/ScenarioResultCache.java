@@ -0,0 +1,134 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Passed scenario combinations of earlier runs, so an identical combination is not run
+ * through the browser again. A result is identical when the environment, the option
+ * combination and the compiled page object classes the scenario uses are all the same;
+ * changing a page object therefore invalidates every result that depends on it.
+ * Results also expire, because the site itself changes without the page objects.
+ *
+ * <p>Only passes are stored; failed combinations always run again.
+ *
+ * <p>The cache is off by default. A skipped combination proves nothing about the site
+ * today, so when the matrix serves as a monitor (nightly runs), keep it off, or every
+ * run within the TTL of a green one silently skips most of the matrix. Turn it on for
+ * local iteration on page objects, where rerunning unchanged combinations is waste.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>SCENARIO_CACHE_ENABLED - record passes and skip combinations with a cached pass (default false)</li>
+ *     <li>SCENARIO_CACHE_FILE - location of the store (default logs/scenario-results.json)</li>
+ *     <li>SCENARIO_CACHE_TTL_HOURS - how long a pass is trusted (default 24)</li>
+ * </ul>
+ */
+public final class ScenarioResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioResultCache.class);
+
+    private final Path file;
+    private final Duration ttl;
+    private final Clock clock;
+    // scenario key -> epoch millis of the pass
+    private final Map<String, Long> passes;
+
+    public ScenarioResultCache(Path file, Duration ttl, Clock clock) {
+        this.file = file;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.passes = load(file);
+    }
+
+    public static ScenarioResultCache fromConfig() {
+        return new ScenarioResultCache(Paths.get(FrameworkConfig.getString("SCENARIO_CACHE_FILE", "logs/scenario-results.json")),
+                Duration.ofHours(FrameworkConfig.getLong("SCENARIO_CACHE_TTL_HOURS", 24)), Clock.systemUTC());
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.getBoolean("SCENARIO_CACHE_ENABLED", false);
+    }
+
+    /**
+     * @param pageClasses the page objects the scenario goes through; their bytecode is part of the key
+     * @return the key of the combination in the environment with the current page object code
+     */
+    public static String key(String env, Map<String, String> combination, Class<?>... pageClasses) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(env.getBytes(StandardCharsets.UTF_8));
+            digest.update(new TreeMap<>(combination).toString().getBytes(StandardCharsets.UTF_8));
+            for (Class<?> pageClass : pageClasses) {
+                digest.update(pageClass.getName().getBytes(StandardCharsets.UTF_8));
+                try (InputStream bytecode = pageClass.getResourceAsStream(pageClass.getSimpleName() + ".class")) {
+                    if (bytecode != null) {
+                        digest.update(bytecode.readAllBytes());
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Failed to compute scenario key", e);
+        }
+    }
+
+    /**
+     * @return whether the scenario passed within the TTL
+     */
+    public boolean hasPassed(String key) {
+        Long passedAt = passes.get(key);
+        return passedAt != null && clock.millis() - passedAt < ttl.toMillis();
+    }
+
+    /**
+     * Records a pass and writes the store, dropping expired entries.
+     */
+    public void recordPass(String key) {
+        passes.put(key, clock.millis());
+        passes.values().removeIf(passedAt -> clock.millis() - passedAt >= ttl.toMillis());
+        save();
+    }
+
+    private synchronized void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(new TreeMap<>(passes)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Failed to save scenario results to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> load(Path file) {
+        Map<String, Long> passes = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) {
+            return passes;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((key, passedAt) -> passes.put(key, ((Number) passedAt).longValue()));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable scenario results {}: {}", file, e.getMessage());
+        }
+        return passes;
+    }
+}
@@ -0,0 +1,66 @@
+package utilis;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Field decorator for {@link CachingElementLocatorFactory}: when a call on a cached
+ * element fails because the element went stale, the cache entry is dropped and the
+ * call is repeated once on a freshly located element.
+ */
+public class StaleRetryingFieldDecorator extends DefaultFieldDecorator {
+
+    public StaleRetryingFieldDecorator(CachingElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new StaleRetryingHandler(locator));
+    }
+
+    private static final class StaleRetryingHandler implements InvocationHandler {
+
+        private final ElementLocator locator;
+
+        private StaleRetryingHandler(ElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Proxy element for: " + locator;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)
+                        || !(locator instanceof CachingElementLocatorFactory.CachingElementLocator caching)) {
+                    throw e.getCause();
+                }
+                caching.invalidate();
+            }
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package utilis;
+
+import configurator.BaseClass;
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local store of how long each named step took in earlier runs, per environment.
+ * Step names look like {@code BannerFormPage.clickSubmit}. Only the most recent
+ * samples of each step are kept; the store is written back when the JVM exits.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>STEP_HISTORY_FILE - location of the store (default logs/step-history.json)</li>
+ *     <li>STEP_HISTORY_MAX_SAMPLES - samples kept per step (default 200)</li>
+ * </ul>
+ */
+public final class StepHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepHistory.class);
+
+    private static final Path FILE = Paths.get(FrameworkConfig.getString("STEP_HISTORY_FILE", "logs/step-history.json"));
+    private static final int MAX_SAMPLES = Math.max(1, FrameworkConfig.getInt("STEP_HISTORY_MAX_SAMPLES", 200));
+    private static final Map<String, Deque<Long>> SAMPLES = load();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(StepHistory::save, "step-history-save"));
+    }
+
+    private StepHistory() {
+    }
+
+    /**
+     * Records a successful execution of a step in the current environment.
+     */
+    public static void record(String step, long durationMillis) {
+        Deque<Long> samples = SAMPLES.computeIfAbsent(key(step), k -> new ArrayDeque<>());
+        synchronized (samples) {
+            samples.addLast(durationMillis);
+            while (samples.size() > MAX_SAMPLES) {
+                samples.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the recorded durations of a step in the current environment, oldest first
+     */
+    public static List<Long> samples(String step) {
+        Deque<Long> samples = SAMPLES.get(key(step));
+        if (samples == null) {
+            return List.of();
+        }
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    /**
+     * Writes the store to disk.
+     */
+    public static synchronized void save() {
+        Map<String, Map<String, List<Long>>> byEnv = new TreeMap<>();
+        for (Map.Entry<String, Deque<Long>> entry : SAMPLES.entrySet()) {
+            int separator = entry.getKey().indexOf('|');
+            String env = entry.getKey().substring(0, separator);
+            String step = entry.getKey().substring(separator + 1);
+            synchronized (entry.getValue()) {
+                byEnv.computeIfAbsent(env, e -> new TreeMap<>()).put(step, new ArrayList<>(entry.getValue()));
+            }
+        }
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.writeString(FILE, new Json().toJson(byEnv), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Failed to save step history to {}: {}", FILE, e.getMessage());
+        }
+    }
+
+    private static String key(String step) {
+        return BaseClass.envName + "|" + step;
+    }
+
+    private static Map<String, Deque<Long>> load() {
+        Map<String, Deque<Long>> samples = new ConcurrentHashMap<>();
+        if (!Files.exists(FILE)) {
+            return samples;
+        }
+        try {
+            Map<String, Object> byEnv = new Json().toType(Files.readString(FILE, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            for (Map.Entry<String, Object> env : byEnv.entrySet()) {
+                for (Map.Entry<?, ?> step : ((Map<?, ?>) env.getValue()).entrySet()) {
+                    Deque<Long> durations = new ArrayDeque<>();
+                    for (Object value : (List<?>) step.getValue()) {
+                        durations.addLast(((Number) value).longValue());
+                    }
+                    samples.put(env.getKey() + "|" + step.getKey(), durations);
+                }
+            }
+            logger.debug("Loaded step history for {} steps from {}", samples.size(), FILE);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable step history {}: {}", FILE, e.getMessage());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,209 @@
+package utilis;
+
+import configurator.BaseClass;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process registry of step durations, keyed by page, action and environment.
+ * Page-object actions are recorded automatically through {@code BasePage}; test
+ * steps can be timed with {@link #time(String, String, Runnable)}. At the end of a
+ * suite the registry is exported as JSON and as a Prometheus text file.
+ */
+public final class StepMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepMetrics.class);
+    private static final Map<Key, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private StepMetrics() {
+    }
+
+    /**
+     * Identifies one histogram.
+     */
+    public record Key(String page, String action, String env) {
+    }
+
+    /**
+     * Point-in-time view of one histogram.
+     */
+    public record Summary(String page, String action, String env, long count, long failures,
+                          long p50, long p95, long p99, long max, long sum) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("page", page);
+            map.put("action", action);
+            map.put("env", env);
+            map.put("count", count);
+            map.put("failures", failures);
+            map.put("p50", p50);
+            map.put("p95", p95);
+            map.put("p99", p99);
+            map.put("max", max);
+            map.put("sum", sum);
+            return map;
+        }
+    }
+
+    private static final class Histogram {
+        private long[] samples = new long[16];
+        private int size;
+        private long failures;
+
+        synchronized void add(long value) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = value;
+        }
+
+        synchronized void fail() {
+            failures++;
+        }
+
+        synchronized long[] values() {
+            return Arrays.copyOf(samples, size);
+        }
+
+        synchronized Summary summarize(Key key) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long value : sorted) {
+                sum += value;
+            }
+            return new Summary(key.page(), key.action(), key.env(), size, failures,
+                    Percentiles.ofSorted(sorted, 50), Percentiles.ofSorted(sorted, 95), Percentiles.ofSorted(sorted, 99),
+                    size == 0 ? 0 : sorted[size - 1], sum);
+        }
+    }
+
+    /**
+     * Records a successful execution in the current environment.
+     */
+    public static void record(String page, String action, long durationMillis) {
+        histogram(page, action).add(durationMillis);
+    }
+
+    /**
+     * Counts a failed execution in the current environment.
+     */
+    public static void recordFailure(String page, String action) {
+        histogram(page, action).fail();
+    }
+
+    /**
+     * Runs a step and records its duration, or counts it as failed if it throws.
+     */
+    public static void time(String page, String action, Runnable step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (RuntimeException | Error e) {
+            recordFailure(page, action);
+            throw e;
+        }
+        record(page, action, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return summaries of all histograms, sorted by page and action
+     */
+    public static List<Summary> snapshot() {
+        List<Summary> summaries = new ArrayList<>();
+        HISTOGRAMS.forEach((key, histogram) -> summaries.add(histogram.summarize(key)));
+        summaries.sort(Comparator.comparing(Summary::env).thenComparing(Summary::page).thenComparing(Summary::action));
+        return summaries;
+    }
+
+    /**
+     * @return a copy of the raw durations of every histogram, in recording order
+     */
+    public static Map<Key, long[]> samples() {
+        Map<Key, long[]> samples = new LinkedHashMap<>();
+        HISTOGRAMS.forEach((key, histogram) -> samples.put(key, histogram.values()));
+        return samples;
+    }
+
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Writes step-metrics.json and step-metrics.prom into the given directory.
+     */
+    public static void export(Path directory) {
+        List<Summary> summaries = snapshot();
+        if (summaries.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Map<String, Object>> json = new ArrayList<>();
+            summaries.forEach(summary -> json.add(summary.toMap()));
+            Files.writeString(directory.resolve("step-metrics.json"), new Json().toJson(json), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve("step-metrics.prom"), toPrometheus(summaries), StandardCharsets.UTF_8);
+            logger.info("Exported metrics for {} steps to {}", summaries.size(), directory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to export step metrics to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    static String toPrometheus(List<Summary> summaries) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP step_duration_seconds Duration of page-object actions and funnel steps\n");
+        out.append("# TYPE step_duration_seconds summary\n");
+        for (Summary summary : summaries) {
+            String labels = labels(summary);
+            appendQuantile(out, labels, "0.5", summary.p50());
+            appendQuantile(out, labels, "0.95", summary.p95());
+            appendQuantile(out, labels, "0.99", summary.p99());
+            out.append("step_duration_seconds_sum{").append(labels).append("} ").append(seconds(summary.sum())).append('\n');
+            out.append("step_duration_seconds_count{").append(labels).append("} ").append(summary.count()).append('\n');
+        }
+        out.append("# HELP step_failures_total Failed executions of page-object actions and funnel steps\n");
+        out.append("# TYPE step_failures_total counter\n");
+        for (Summary summary : summaries) {
+            out.append("step_failures_total{").append(labels(summary)).append("} ").append(summary.failures()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void appendQuantile(StringBuilder out, String labels, String quantile, long millis) {
+        out.append("step_duration_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(seconds(millis)).append('\n');
+    }
+
+    private static String labels(Summary summary) {
+        return "page=\"" + escape(summary.page()) + "\",action=\"" + escape(summary.action())
+                + "\",env=\"" + escape(summary.env()) + "\"";
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static Histogram histogram(String page, String action) {
+        return HISTOGRAMS.computeIfAbsent(new Key(page, action, BaseClass.envName), key -> new Histogram());
+    }
+}
@@ -0,0 +1,270 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out sign-up data that is unique across threads, parallel JVMs and runs.
+ *
+ * <p>Every value is derived from a sequence number. The sequence space is split into
+ * disjoint partitions of TEST_DATA_PARTITION_SIZE numbers, and each worker JVM draws
+ * only from the partition named by TEST_DATA_PARTITION, so workers never overlap
+ * without sharing any state. Inside its range a JVM reserves a block of sequence
+ * numbers at a time by advancing a high-water mark stored in a file under an exclusive
+ * file lock, so JVMs sharing the file never get overlapping blocks and a run continues
+ * where the last one stopped. A range that is used up fails instead of wrapping into
+ * numbers that were already handed out.
+ *
+ * <p>Without a partition, every JVM must share the high-water mark file named by
+ * TEST_DATA_HWM_FILE and draws from the whole space. With neither setting there is
+ * nothing that keeps fresh checkouts apart, so the first request fails. Within the JVM,
+ * each thread takes a small range from the current block with a single atomic add and
+ * then counts up locally, so the common path takes no lock at all.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>TEST_DATA_PARTITION - partition of this worker, e.g. CI build number times
+ *     workers plus worker index; must not be reused unless its high-water mark file is kept</li>
+ *     <li>TEST_DATA_PARTITION_SIZE - sequence numbers per partition (default 100000,
+ *     which gives 1000 partitions)</li>
+ *     <li>TEST_DATA_HWM_FILE - high-water mark file shared by all JVMs; with a partition,
+ *     defaults to logs/test-data-p&lt;partition&gt;.hwm</li>
+ *     <li>PHONE_PREFIX - first two digits of generated phone numbers (default 60)</li>
+ *     <li>CUSTOMER_NAME - base of generated names (default testrama)</li>
+ *     <li>TEST_ADDRESS_BASE - base of generated addresses</li>
+ * </ul>
+ */
+public final class TestDataService {
+
+    private static final long BLOCK_SIZE = 10_000;
+    private static final long THREAD_RANGE = 100;
+    private static final long PHONE_SPACE = 100_000_000L;
+
+    // File locks are held by the whole JVM, so reservations inside one JVM take turns first
+    private static final Object FILE_LOCK = new Object();
+    private static volatile Sequences sequences;
+
+    /**
+     * Phone number, name and address built from the same sequence number.
+     */
+    public record TestIdentity(String phoneNumber, String name, String address) {
+    }
+
+    /**
+     * Sequence numbers from one range, reserved block by block through a high-water mark file.
+     */
+    public static final class Sequences {
+        private final Path hwmFile;
+        private final long rangeStart;
+        private final long rangeEnd;
+        private final ThreadLocal<long[]> threadRange = ThreadLocal.withInitial(() -> new long[]{0, 0});
+        private volatile Block block;
+
+        /**
+         * @param rangeStart first sequence number of the range, a multiple of the block size
+         * @param rangeEnd   end of the range, exclusive
+         */
+        public Sequences(Path hwmFile, long rangeStart, long rangeEnd) {
+            this.hwmFile = hwmFile;
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+        }
+
+        /**
+         * Resolves the range of this worker from the settings.
+         *
+         * @param partition     TEST_DATA_PARTITION, or null
+         * @param partitionSize TEST_DATA_PARTITION_SIZE
+         * @param hwmFile       TEST_DATA_HWM_FILE, or null
+         * @throws IllegalStateException when neither a partition nor a shared file is set
+         * @throws IllegalArgumentException when the partition is not a number inside the space
+         */
+        public static Sequences configured(String partition, long partitionSize, String hwmFile) {
+            if (partition == null) {
+                if (hwmFile == null) {
+                    throw new IllegalStateException("Test data is not unique across JVMs: set TEST_DATA_PARTITION to a"
+                            + " partition unique to this worker, or TEST_DATA_HWM_FILE to a file shared by every JVM");
+                }
+                return new Sequences(Paths.get(hwmFile), 0, PHONE_SPACE);
+            }
+            if (partitionSize < BLOCK_SIZE || partitionSize % BLOCK_SIZE != 0 || PHONE_SPACE % partitionSize != 0) {
+                throw new IllegalArgumentException("TEST_DATA_PARTITION_SIZE " + partitionSize
+                        + " must be a multiple of " + BLOCK_SIZE + " that divides " + PHONE_SPACE);
+            }
+            long partitions = PHONE_SPACE / partitionSize;
+            long index;
+            try {
+                index = Long.parseLong(partition);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("TEST_DATA_PARTITION must be a number, got '" + partition + "'", e);
+            }
+            if (index < 0 || index >= partitions) {
+                throw new IllegalArgumentException("TEST_DATA_PARTITION " + index + " is outside 0.." + (partitions - 1));
+            }
+            Path file = Paths.get(hwmFile != null ? hwmFile : "logs/test-data-p" + index + ".hwm");
+            return new Sequences(file, index * partitionSize, (index + 1) * partitionSize);
+        }
+
+        /**
+         * @return the next sequence number, unique across threads and across JVMs with disjoint ranges or a shared file
+         */
+        public long next() {
+            long[] range = threadRange.get();
+            if (range[0] >= range[1]) {
+                claimRange(range);
+            }
+            return range[0]++;
+        }
+
+        private void claimRange(long[] range) {
+            while (true) {
+                Block current = block;
+                if (current != null) {
+                    long start = current.cursor.getAndAdd(THREAD_RANGE);
+                    if (start + THREAD_RANGE <= current.end) {
+                        range[0] = start;
+                        range[1] = start + THREAD_RANGE;
+                        return;
+                    }
+                }
+                synchronized (FILE_LOCK) {
+                    if (block == current) {
+                        long start = reserveBlock();
+                        block = new Block(start, start + BLOCK_SIZE);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Advances the high-water mark in the file by one block under an exclusive lock.
+         *
+         * @return first sequence number of the reserved block
+         */
+        private long reserveBlock() {
+            try {
+                if (hwmFile.getParent() != null) {
+                    Files.createDirectories(hwmFile.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(hwmFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        ByteBuffer buffer = ByteBuffer.allocate(32);
+                        channel.read(buffer, 0);
+                        String stored = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+                        // A mark below the range was left by another partition size; start the range afresh
+                        long start = stored.isEmpty() ? rangeStart : Math.max(rangeStart, Long.parseLong(stored));
+                        if (start + BLOCK_SIZE > rangeEnd) {
+                            throw new IllegalStateException("Test data range " + rangeStart + ".." + (rangeEnd - 1)
+                                    + " in " + hwmFile + " is used up; move to another TEST_DATA_PARTITION");
+                        }
+
+                        channel.truncate(0);
+                        channel.write(ByteBuffer.wrap(Long.toString(start + BLOCK_SIZE).getBytes(StandardCharsets.US_ASCII)), 0);
+                        channel.force(true);
+                        return start;
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to reserve test data block in " + hwmFile, e);
+            }
+        }
+    }
+
+    private static final class Block {
+        private final long end;
+        private final AtomicLong cursor;
+
+        private Block(long start, long end) {
+            this.end = end;
+            this.cursor = new AtomicLong(start);
+        }
+    }
+
+    private TestDataService() {
+    }
+
+    /**
+     * @return a 10-digit phone number: PHONE_PREFIX followed by 8 sequence digits
+     */
+    public static String nextPhoneNumber() {
+        return phoneNumber(nextSequence());
+    }
+
+    public static String nextName() {
+        return name(nextSequence());
+    }
+
+    public static String nextAddress() {
+        return address(nextSequence());
+    }
+
+    /**
+     * @return phone number, name and address that all carry the same sequence number
+     */
+    public static TestIdentity nextIdentity() {
+        return identity(nextSequence());
+    }
+
+    public static TestIdentity identity(long sequence) {
+        return new TestIdentity(phoneNumber(sequence), name(sequence), address(sequence));
+    }
+
+    /**
+     * @return the next sequence number, unique across threads, JVMs and runs
+     */
+    public static long nextSequence() {
+        Sequences current = sequences;
+        if (current == null) {
+            synchronized (TestDataService.class) {
+                current = sequences;
+                if (current == null) {
+                    current = Sequences.configured(FrameworkConfig.getString("TEST_DATA_PARTITION", null),
+                            FrameworkConfig.getLong("TEST_DATA_PARTITION_SIZE", 100_000),
+                            FrameworkConfig.getString("TEST_DATA_HWM_FILE", null));
+                    sequences = current;
+                }
+            }
+        }
+        return current.next();
+    }
+
+    private static String phoneNumber(long sequence) {
+        String prefix = FrameworkConfig.getString("PHONE_PREFIX", "60");
+        if (prefix.length() != 2) {
+            prefix = "60";
+        }
+        // Ranges stay inside the 8 digits, so the sequence never wraps
+        return prefix + String.format("%08d", sequence % PHONE_SPACE);
+    }
+
+    private static String name(long sequence) {
+        // Letters only, since name fields commonly reject digits
+        StringBuilder suffix = new StringBuilder();
+        long value = sequence;
+        do {
+            suffix.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return FrameworkConfig.getString("CUSTOMER_NAME", "testrama") + suffix.reverse();
+    }
+
+    private static String address(long sequence) {
+        return "Flat " + sequence + ", " + FrameworkConfig.getString("TEST_ADDRESS_BASE",
+                "TestYantra Software Solutions, Somajiguda, Hyderabad, Telangana, India");
+    }
+}
@@ -0,0 +1,87 @@
+package utilis;
+
+import configurator.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long each test method took in earlier runs, keyed by
+ * {@code package.Class.method}. A new measurement is blended into the stored
+ * value (exponential moving average, weight 0.3) so one slow run does not
+ * reshuffle every shard.
+ *
+ * <p>Every shard of a run must read the same file, so in CI restore it from the
+ * previous run's artifacts before the shards start. Setting: TEST_DURATIONS_FILE
+ * (default logs/test-durations.json).
+ */
+public final class TestDurations {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDurations.class);
+    private static final double WEIGHT = 0.3;
+
+    private static final Path FILE = Paths.get(FrameworkConfig.getString("TEST_DURATIONS_FILE", "logs/test-durations.json"));
+    private static final Map<String, Long> DURATIONS = load();
+
+    private TestDurations() {
+    }
+
+    public static void record(String test, long durationMillis) {
+        DURATIONS.merge(test, durationMillis,
+                (previous, current) -> Math.round(previous * (1 - WEIGHT) + current * WEIGHT));
+    }
+
+    /**
+     * @return the expected duration of the test, if it has run before
+     */
+    public static OptionalLong expected(String test) {
+        Long duration = DURATIONS.get(test);
+        return duration == null ? OptionalLong.empty() : OptionalLong.of(duration);
+    }
+
+    /**
+     * @return a sorted copy of all known durations
+     */
+    public static Map<String, Long> all() {
+        return new TreeMap<>(DURATIONS);
+    }
+
+    /**
+     * Writes the store to disk.
+     */
+    public static synchronized void save() {
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.writeString(FILE, new Json().toJson(all()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Failed to save test durations to {}: {}", FILE, e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> load() {
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        if (!Files.exists(FILE)) {
+            return durations;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(FILE, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((test, millis) -> durations.put(test, ((Number) millis).longValue()));
+            logger.debug("Loaded durations of {} tests from {}", durations.size(), FILE);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable test durations {}: {}", FILE, e.getMessage());
+        }
+        return durations;
+    }
+}
@@ -12,7 +12,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Utilities {
 
@@ -68,7 +68,7 @@ public class Utilities {
             }
 
             // Generate 8 random digits
-            Random random = new Random();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
             StringBuilder phoneNumber = new StringBuilder(phonePrefix);
 
             for (int i = 0; i < 8; i++) {
@@ -102,7 +102,7 @@ public class Utilities {
             }
 
             // Generate 8 random digits
-            Random random = new Random();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
             StringBuilder phoneNumber = new StringBuilder(prefix);
 
             for (int i = 0; i < 8; i++) {
@@ -121,21 +121,14 @@ public class Utilities {
     }
 
     /**
-     * Generates a unique phone number based on timestamp
-     * Format: [PHONE_PREFIX][last 8 digits of current timestamp]
+     * Generates a phone number that is unique across threads, parallel JVMs and runs
+     * Format: [PHONE_PREFIX][8-digit sequence from TestDataService]
      * 
      * @return String - 10-digit unique phone number
      */
     public static String generateUniquePhoneNumber() {
         try {
-            String phonePrefix = dotenv.get("PHONE_PREFIX", "60");
-
-            // Get last 8 digits of current timestamp
-            long timestamp = System.currentTimeMillis();
-            String timestampStr = String.valueOf(timestamp);
-            String last8Digits = timestampStr.substring(timestampStr.length() - 8);
-
-            String uniqueNumber = phonePrefix + last8Digits;
+            String uniqueNumber = TestDataService.nextPhoneNumber();
             logger.info("Generated unique phone number: {}", uniqueNumber);
 
             return uniqueNumber;
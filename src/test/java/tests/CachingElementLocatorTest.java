@@ -0,0 +1,88 @@
+package tests;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.CachingElementLocatorFactory;
+import utilis.StaleRetryingFieldDecorator;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingElementLocatorTest {
+
+    public static class Page {
+        @FindBy(id = "name")
+        WebElement name;
+    }
+
+    /**
+     * Search context whose elements answer getText() until they are marked stale.
+     */
+    private static class CountingContext implements SearchContext {
+        final AtomicInteger lookups = new AtomicInteger();
+        AtomicBoolean currentStale = new AtomicBoolean();
+
+        @Override
+        public WebElement findElement(By by) {
+            lookups.incrementAndGet();
+            currentStale = new AtomicBoolean();
+            AtomicBoolean stale = currentStale;
+            int generation = lookups.get();
+            return FakeDriver.element("name-" + generation, (method, args) -> {
+                if (stale.get()) {
+                    throw new StaleElementReferenceException("stale");
+                }
+                return "getText".equals(method) ? "text-" + generation : null;
+            });
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of(findElement(by));
+        }
+    }
+
+    @Test
+    public void repeatedAccessReusesTheLookup() {
+        CountingContext context = new CountingContext();
+        Page page = new Page();
+        PageFactory.initElements(new StaleRetryingFieldDecorator(new CachingElementLocatorFactory(context)), page);
+
+        Assert.assertEquals(page.name.getText(), "text-1");
+        Assert.assertEquals(page.name.getText(), "text-1");
+        Assert.assertEquals(context.lookups.get(), 1);
+    }
+
+    @Test
+    public void staleElementIsLookedUpAgain() {
+        CountingContext context = new CountingContext();
+        Page page = new Page();
+        PageFactory.initElements(new StaleRetryingFieldDecorator(new CachingElementLocatorFactory(context)), page);
+        long staleBefore = CachingElementLocatorFactory.staleInvalidations();
+
+        Assert.assertEquals(page.name.getText(), "text-1");
+        context.currentStale.set(true);
+        Assert.assertEquals(page.name.getText(), "text-2");
+        Assert.assertEquals(context.lookups.get(), 2);
+        Assert.assertTrue(CachingElementLocatorFactory.staleInvalidations() > staleBefore);
+    }
+
+    @Test
+    public void nextGenerationDropsCachedElements() {
+        CountingContext context = new CountingContext();
+        Page page = new Page();
+        CachingElementLocatorFactory factory = new CachingElementLocatorFactory(context);
+        PageFactory.initElements(new StaleRetryingFieldDecorator(factory), page);
+
+        page.name.getText();
+        factory.nextGeneration();
+        Assert.assertEquals(page.name.getText(), "text-2");
+    }
+}
@@ -0,0 +1,141 @@
+package tests;
+
+import configurator.DriverManager;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import utilis.CheckpointedFlow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CheckpointedFlowTest {
+
+    /**
+     * Driver that stays on one URL, has no cookies and empty storage, and is always settled.
+     */
+    private WebDriver fakeDriver(List<String> navigations) {
+        return FakeDriver.create()
+                .on("getCurrentUrl", args -> "https://example.test/bfc")
+                .on("getWindowHandle", args -> "window-1")
+                .on("get", args -> navigations.add((String) args[0]))
+                .onScript((script, args) -> script.contains("__hlQuiet")
+                        ? Map.of("readyState", "complete", "pending", 0L, "quietMs", 10_000L)
+                        : Map.of("local", Map.of(), "session", Map.of()))
+                .build();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void unbindDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    public void failedStepResumesFromLastCheckpoint() {
+        List<String> navigations = new ArrayList<>();
+        DriverManager.setDriver(fakeDriver(navigations));
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        int retries = CheckpointedFlow.named("CheckpointedFlowTest").retries(1)
+                .step("first", driver -> first.incrementAndGet())
+                .step("second", driver -> {
+                    if (second.incrementAndGet() == 1) {
+                        throw new NoSuchElementException("time slot not rendered yet");
+                    }
+                }, driver -> true)
+                .run();
+
+        Assert.assertEquals(retries, 1);
+        Assert.assertEquals(first.get(), 1);
+        Assert.assertEquals(second.get(), 2);
+        Assert.assertEquals(navigations, List.of("https://example.test/bfc", "https://example.test/bfc"));
+    }
+
+    @Test
+    public void stepNotBackAfterRestoreRerunsTheWholeFlow() {
+        DriverManager.setDriver(fakeDriver(new ArrayList<>()));
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        int retries = CheckpointedFlow.named("CheckpointedFlowTest").retries(1).readyTimeout(Duration.ofMillis(100))
+                .step("first", driver -> first.incrementAndGet())
+                .step("second", driver -> {
+                    if (second.incrementAndGet() == 1) {
+                        throw new NoSuchElementException("time slot not rendered yet");
+                    }
+                }, driver -> false)
+                .run();
+
+        Assert.assertEquals(retries, 1);
+        Assert.assertEquals(first.get(), 2);
+        Assert.assertEquals(second.get(), 2);
+    }
+
+    @Test
+    public void flowWithStepOnceIsNeverRerunInFull() {
+        DriverManager.setDriver(fakeDriver(new ArrayList<>()));
+        AtomicInteger signUps = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        try {
+            CheckpointedFlow.named("CheckpointedFlowTest").retries(1)
+                    .stepOnce("signUp", driver -> signUps.incrementAndGet())
+                    .step("second", driver -> {
+                        second.incrementAndGet();
+                        throw new NoSuchElementException("time slot not rendered yet");
+                    })
+                    .run();
+            Assert.fail("flow should have failed");
+        } catch (NoSuchElementException e) {
+            Assert.assertTrue(e.getMessage().startsWith("time slot not rendered yet"), e.getMessage());
+        }
+        Assert.assertEquals(signUps.get(), 1);
+        Assert.assertEquals(second.get(), 1);
+    }
+
+    @Test
+    public void stepOnceIsNotRetried() {
+        DriverManager.setDriver(fakeDriver(new ArrayList<>()));
+        AtomicInteger attempts = new AtomicInteger();
+        Assert.assertThrows(NoSuchElementException.class, () -> CheckpointedFlow.named("CheckpointedFlowTest").retries(3)
+                .stepOnce("signUp", driver -> {
+                    attempts.incrementAndGet();
+                    throw new NoSuchElementException("otp field");
+                })
+                .run());
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void stepFailingBeyondRetriesFailsTheFlow() {
+        DriverManager.setDriver(fakeDriver(new ArrayList<>()));
+        CheckpointedFlow.named("CheckpointedFlowTest").retries(2)
+                .step("always", driver -> {
+                    throw new NoSuchElementException("never there");
+                })
+                .run();
+    }
+
+    @Test
+    public void assertionFailuresAreNotRetried() {
+        DriverManager.setDriver(fakeDriver(new ArrayList<>()));
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            CheckpointedFlow.named("CheckpointedFlowTest").retries(3)
+                    .step("assert", driver -> {
+                        attempts.incrementAndGet();
+                        Assert.fail("wrong page title");
+                    })
+                    .run();
+            Assert.fail("flow should have failed");
+        } catch (AssertionError e) {
+            Assert.assertEquals(e.getMessage(), "wrong page title");
+        }
+        Assert.assertEquals(attempts.get(), 1);
+    }
+}
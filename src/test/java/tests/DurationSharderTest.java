@@ -0,0 +1,61 @@
+package tests;
+
+import configurator.DurationSharder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DurationSharderTest {
+
+    @Test
+    public void longestTestsAreSpreadFirst() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("a", 10L);
+        durations.put("b", 70L);
+        durations.put("c", 30L);
+        durations.put("d", 40L);
+        durations.put("e", 50L);
+
+        List<List<String>> shards = DurationSharder.assign(durations, 2, Comparator.naturalOrder());
+
+        Assert.assertEquals(shards.get(0), List.of("b", "c"));
+        Assert.assertEquals(shards.get(1), List.of("e", "d", "a"));
+    }
+
+    @Test
+    public void everyTestIsAssignedExactlyOnce() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            durations.put("test" + i, (long) (i % 7) * 1000);
+        }
+
+        List<List<String>> shards = DurationSharder.assign(durations, 4, Comparator.naturalOrder());
+
+        long assigned = shards.stream().mapToLong(List::size).sum();
+        Assert.assertEquals(assigned, durations.size());
+        Assert.assertEquals(shards.stream().flatMap(List::stream).distinct().count(), durations.size());
+        long[] loads = shards.stream().mapToLong(shard -> shard.stream().mapToLong(durations::get).sum()).toArray();
+        long max = java.util.Arrays.stream(loads).max().orElseThrow();
+        long min = java.util.Arrays.stream(loads).min().orElseThrow();
+        Assert.assertTrue(max - min <= 6000, "Shards are unbalanced: " + java.util.Arrays.toString(loads));
+    }
+
+    @Test
+    public void assignmentIsDeterministic() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("x", 5L);
+        durations.put("y", 5L);
+        durations.put("z", 5L);
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        reversed.put("z", 5L);
+        reversed.put("y", 5L);
+        reversed.put("x", 5L);
+
+        Assert.assertEquals(DurationSharder.assign(reversed, 2, Comparator.naturalOrder()),
+                DurationSharder.assign(durations, 2, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,59 @@
+package tests;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.FailureArtifacts;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+public class FailureArtifactsTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G'};
+
+    private static WebDriver fakeDriver(AtomicInteger calls) {
+        return FakeDriver.create().with(TakesScreenshot.class)
+                .on("getScreenshotAs", args -> {
+                    calls.incrementAndGet();
+                    return ((OutputType<?>) args[0]).convertFromBase64Png(Base64.getEncoder().encodeToString(PNG));
+                })
+                .onScript((script, args) -> {
+                    calls.incrementAndGet();
+                    return Map.of("url", "https://example.test/bfc", "title", "HomeLane", "dom", "<html><body>bfc</body></html>",
+                            "console", List.of(Map.of("level", "error", "message", "slot API 500")));
+                })
+                .build();
+    }
+
+    @Test
+    public void captureMakesTwoBrowserCallsAndWritesZipInBackground() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        Path zip = FailureArtifacts.capture(fakeDriver(calls), "FailureArtifactsTest.capture",
+                new NoSuchElementException("time slot"));
+
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertTrue(FailureArtifacts.awaitWrites(10, TimeUnit.SECONDS));
+        try (ZipFile archive = new ZipFile(zip.toFile())) {
+            Set<String> entries = archive.stream().map(entry -> entry.getName()).collect(Collectors.toSet());
+            Assert.assertEquals(entries, Set.of("screenshot.png", "dom.html", "console.json", "error.txt"));
+            Assert.assertEquals(archive.getInputStream(archive.getEntry("screenshot.png")).readAllBytes(), PNG);
+            String console = new String(archive.getInputStream(archive.getEntry("console.json")).readAllBytes());
+            Assert.assertTrue(console.contains("slot API 500"), console);
+            String error = new String(archive.getInputStream(archive.getEntry("error.txt")).readAllBytes());
+            Assert.assertTrue(error.contains("time slot"), error);
+        }
+        FailureArtifacts.startTest();
+    }
+}
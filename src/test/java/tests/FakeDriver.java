@@ -0,0 +1,113 @@
+package tests;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Scriptable in-memory WebDriver for unit tests, the counterpart of the benchmarks'
+ * FakeWebDriver. Every method answers null unless a handler is registered, except
+ * {@code manage()}, whose options report no cookies. Drivers and elements are equal
+ * only to themselves, so they work as map keys.
+ *
+ * <pre>
+ * WebDriver driver = FakeDriver.create().with(HasCdp.class)
+ *         .onScript((script, args) -> Map.of("state", "ready"))
+ *         .build();
+ * </pre>
+ */
+public final class FakeDriver {
+
+    /**
+     * Answers one WebDriver method; {@code args} are the call's arguments.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        Object handle(Object[] args);
+    }
+
+    private final Set<Class<?>> interfaces = new LinkedHashSet<>(List.of(WebDriver.class, JavascriptExecutor.class));
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+    private FakeDriver() {
+    }
+
+    public static FakeDriver create() {
+        return new FakeDriver();
+    }
+
+    /**
+     * Makes the driver implement another capability, e.g. {@code HasCdp} or {@code TakesScreenshot}.
+     */
+    public FakeDriver with(Class<?> capability) {
+        interfaces.add(capability);
+        return this;
+    }
+
+    /**
+     * Answers every call of the named method, e.g. {@code getCurrentUrl} or {@code executeCdpCommand}.
+     */
+    public FakeDriver on(String method, Handler handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * Answers {@code executeScript} with the script and its arguments.
+     */
+    public FakeDriver onScript(BiFunction<String, Object[], Object> handler) {
+        return on("executeScript", args -> handler.apply((String) args[0], (Object[]) args[1]));
+    }
+
+    public WebDriver build() {
+        WebDriver.Options options = proxy(WebDriver.Options.class, "options",
+                (method, args) -> "getCookies".equals(method) ? Set.of() : null);
+        Map<String, Handler> answers = Map.copyOf(handlers);
+        return (WebDriver) Proxy.newProxyInstance(FakeDriver.class.getClassLoader(), interfaces.toArray(Class<?>[]::new),
+                (proxy, method, args) -> answer(proxy, method, args, "FakeDriver", (name, arguments) -> {
+                    Handler handler = answers.get(name);
+                    if (handler != null) {
+                        return handler.handle(arguments);
+                    }
+                    return "manage".equals(name) ? options : null;
+                }));
+    }
+
+    /**
+     * @return an element that answers null to everything and prints as {@code name}
+     */
+    public static WebElement element(String name) {
+        return element(name, (method, args) -> null);
+    }
+
+    /**
+     * @param handler answers each call with the method name and arguments; may throw, e.g. a stale element exception
+     */
+    public static WebElement element(String name, BiFunction<String, Object[], Object> handler) {
+        return proxy(WebElement.class, name, handler);
+    }
+
+    private static <T> T proxy(Class<T> type, String name, BiFunction<String, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(FakeDriver.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer(proxy, method, args, name, handler)));
+    }
+
+    private static Object answer(Object proxy, Method method, Object[] args, String name,
+                                 BiFunction<String, Object[], Object> handler) {
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> name;
+            default -> handler.apply(method.getName(), args == null ? new Object[0] : args);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package tests;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.FallbackLocator;
+import utilis.FallbackLocator.Strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FallbackLocatorTest {
+
+    private static final List<Strategy> STRATEGIES = List.of(
+            Strategy.xpath("aria-label", "//div[@aria-label='Choose Monday']"),
+            Strategy.xpath("day-text", "//div[contains(@class, 'react-datepicker__day') and text()='19']"),
+            Strategy.xpath("any-text", "//*[text()='19']").asLastResort());
+
+    /**
+     * Driver whose find script always matches the strategy with the given name, recording
+     * the order in which the strategies were passed.
+     */
+    private static WebDriver fakeDriver(String matching, List<List<String>> orders) {
+        WebElement element = FakeDriver.element("dateButton");
+        return FakeDriver.create().onScript((script, args) -> {
+            List<String> order = new ArrayList<>();
+            for (Object strategy : (List<?>) args[0]) {
+                String expression = (String) ((List<?>) strategy).get(1);
+                order.add(STRATEGIES.stream().filter(s -> s.toString().contains(expression)).findFirst()
+                        .orElseThrow().getName());
+            }
+            orders.add(order);
+            return List.of((long) order.indexOf(matching), element);
+        }).build();
+    }
+
+    private static void find(WebDriver driver, String key) {
+        FallbackLocator.find(driver, new WebDriverWait(driver, Duration.ofSeconds(1)), key, STRATEGIES);
+    }
+
+    @Test
+    public void lastResortStrategyIsNeverPromoted() {
+        List<List<String>> orders = new ArrayList<>();
+        WebDriver driver = fakeDriver("any-text", orders);
+
+        find(driver, "FallbackLocatorTest.lastResort");
+        find(driver, "FallbackLocatorTest.lastResort");
+
+        Assert.assertNull(FallbackLocator.lastWinner("FallbackLocatorTest.lastResort"));
+        Assert.assertEquals(orders.get(1), List.of("aria-label", "day-text", "any-text"));
+    }
+
+    @Test
+    public void preciseWinnerIsTriedFirstButBeforeTheLastResort() {
+        List<List<String>> orders = new ArrayList<>();
+        WebDriver driver = fakeDriver("day-text", orders);
+
+        find(driver, "FallbackLocatorTest.precise");
+        find(driver, "FallbackLocatorTest.precise");
+
+        Assert.assertEquals(FallbackLocator.lastWinner("FallbackLocatorTest.precise"), "day-text");
+        Assert.assertEquals(orders.get(1), List.of("day-text", "aria-label", "any-text"));
+    }
+}
@@ -0,0 +1,130 @@
+package tests;
+
+import configurator.BaseClass;
+import configurator.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import pageObject.BannerFormPage;
+import pageObject.BasePage;
+import pageObject.MeetingSchedulePage;
+import pageObject.Pages;
+import pageObject.PlanningOptionsPage;
+import pageObject.PropertyDetailsPage;
+import utilis.CheckpointedFlow;
+import utilis.PairwiseGenerator;
+import utilis.ScenarioResultCache;
+import utilis.TestDataService;
+import utilis.Utilities;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the funnel through a pairwise covering set of property type, BHK, budget and
+ * possession choices instead of every combination. Rows run in parallel (data
+ * provider threads, see pom.xml). With SCENARIO_CACHE_ENABLED, rows that already
+ * passed with the same page objects are skipped through {@link ScenarioResultCache}.
+ *
+ * <p>Every row creates a lead and takes about a browser-minute, so the matrix only
+ * runs when FUNNEL_VARIANTS_ENABLED is true.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>FUNNEL_VARIANTS_ENABLED - run the matrix (default false)</li>
+ *     <li>FUNNEL_VARIANTS_STRENGTH - 2 for pairwise, 3 for triples, ... (default 2)</li>
+ *     <li>FUNNEL_VARIANTS_PROPERTY_TYPES - default Apartment,Villa,Independent Home</li>
+ *     <li>FUNNEL_VARIANTS_BHKS - default 1BHK,2BHK,3BHK</li>
+ *     <li>FUNNEL_VARIANTS_BUDGETS - budget dropdown indexes (default 1,2,3)</li>
+ *     <li>FUNNEL_VARIANTS_POSSESSIONS - possession dropdown indexes (default 1,2,3)</li>
+ *     <li>FUNNEL_VARIANTS_PROPERTY - property searched in every row (default the BannerSignInTest one)</li>
+ * </ul>
+ */
+public class FunnelVariantsTest extends BaseClass {
+
+    private static final Logger logger = LoggerFactory.getLogger(FunnelVariantsTest.class);
+    private static final String STEP_PAGE = FunnelVariantsTest.class.getSimpleName();
+    private static final Class<?>[] PAGES = {BasePage.class, BannerFormPage.class, PropertyDetailsPage.class,
+            PlanningOptionsPage.class, MeetingSchedulePage.class};
+
+    private final ScenarioResultCache results = ScenarioResultCache.fromConfig();
+
+    @BeforeClass
+    public void checkEnabled() {
+        if (!FrameworkConfig.getBoolean("FUNNEL_VARIANTS_ENABLED", false)) {
+            throw new SkipException("FUNNEL_VARIANTS_ENABLED is not set");
+        }
+    }
+
+    @DataProvider(name = "variants", parallel = true)
+    public Object[][] variants() {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("propertyType", list("FUNNEL_VARIANTS_PROPERTY_TYPES", "Apartment,Villa,Independent Home"));
+        options.put("bhk", list("FUNNEL_VARIANTS_BHKS", "1BHK,2BHK,3BHK"));
+        options.put("budget", list("FUNNEL_VARIANTS_BUDGETS", "1,2,3"));
+        options.put("possession", list("FUNNEL_VARIANTS_POSSESSIONS", "1,2,3"));
+
+        List<Map<String, String>> rows = PairwiseGenerator.cover(options, FrameworkConfig.getInt("FUNNEL_VARIANTS_STRENGTH", 2));
+        logger.info("{} funnel variants cover all option combinations of strength {}", rows.size(),
+                FrameworkConfig.getInt("FUNNEL_VARIANTS_STRENGTH", 2));
+        return rows.stream().map(row -> new Object[]{row}).toArray(Object[][]::new);
+    }
+
+    @Test(dataProvider = "variants")
+    public void funnelVariant(Map<String, String> variant) {
+        String key = ScenarioResultCache.key(envName, variant, PAGES);
+        if (ScenarioResultCache.isEnabled() && results.hasPassed(key)) {
+            throw new SkipException("Passed earlier with the same page objects: " + variant);
+        }
+
+        logger.info("---------- Funnel variant {} ----------", variant);
+        initializeDriver();
+        TestDataService.TestIdentity identity = TestDataService.nextIdentity();
+        String otp = dotenv.get("SING_UP_OTP");
+        String showroomName = dotenv.get("SHOWROOM");
+        String tomorrowDate = Utilities.getTomorrowDate();
+        String property = FrameworkConfig.getString("FUNNEL_VARIANTS_PROPERTY",
+                "TestYantra Software Solutions, Somajiguda, Hyderabad, Telangana, India");
+
+        CheckpointedFlow.named(STEP_PAGE)
+                .stepOnce("step1FillBannerForm", driver -> Pages.get(BannerFormPage.class)
+                        .fillBannerForm(identity.name(), identity.phoneNumber(), otp))
+                .step("step2FillPropertyDetails", driver -> Pages.get(PropertyDetailsPage.class)
+                                .fillPropertyDetails(variant.get("propertyType"), variant.get("bhk"), property),
+                        driver -> Pages.get(PropertyDetailsPage.class).isOpen())
+                .step("step3FillPlanningOptions", driver -> Pages.get(PlanningOptionsPage.class)
+                                .fillPlanningOptions(Integer.parseInt(variant.get("budget")), Integer.parseInt(variant.get("possession"))),
+                        driver -> Pages.get(PlanningOptionsPage.class).isOpen())
+                .step("step4ScheduleMeeting",
+                        driver -> Pages.get(MeetingSchedulePage.class).scheduleMeeting(tomorrowDate, showroomName),
+                        driver -> Pages.get(MeetingSchedulePage.class).isOpen())
+                .run();
+
+        if (ScenarioResultCache.isEnabled()) {
+            results.recordPass(key);
+        }
+        logger.info("Funnel variant {} passed", variant);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        try {
+            closeDriver();
+        } catch (Exception e) {
+            logger.error("Error during teardown: {}", e.getMessage(), e);
+        }
+    }
+
+    private static List<String> list(String setting, String defaultValue) {
+        return Arrays.stream(FrameworkConfig.getString(setting, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,120 @@
+package tests;
+
+import api.FunnelState;
+import api.FunnelStep;
+import api.HttpFunnelApiClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class HttpFunnelApiClientTest {
+
+    private record Request(String method, String path, String contentType, Map<String, Object> body) {
+    }
+
+    /**
+     * Local stub answering every request with the given status and body, recording what it received.
+     */
+    private static HttpServer stub(List<Request> requests, int status, String answer) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new Request(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Content-Type"), new Json().toType(body, Json.MAP_TYPE)));
+            respond(exchange, status, answer);
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String answer) throws IOException {
+        byte[] bytes = answer.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Set-Cookie", "hl_session=abc123; Path=/");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static HttpFunnelApiClient client(HttpServer server) {
+        return new HttpFunnelApiClient("http://127.0.0.1:" + server.getAddress().getPort() + "/stub",
+                "/leads", "/leads/{leadId}/{step}");
+    }
+
+    @Test
+    public void leadAndStepArePostedAsJsonToTheConfiguredPaths() throws Exception {
+        List<Request> requests = new CopyOnWriteArrayList<>();
+        HttpServer server = stub(requests, 200, "{\"leadId\": 42, \"localStorage\": {\"bfcStep\": \"2\"}}");
+        try {
+            HttpFunnelApiClient client = client(server);
+
+            FunnelState state = client.createLead(Map.of("name", "testrama", "phone", "6000000001"));
+            client.submitStep(state, FunnelStep.PROPERTY_DETAILS, Map.of("bhk", "2BHK"));
+
+            Assert.assertEquals(state.getLeadId(), "42");
+            Assert.assertEquals(state.getCookies().get("hl_session"), "abc123");
+            Assert.assertEquals(state.getLocalStorage().get("bfcStep"), "2");
+            Assert.assertEquals(requests.size(), 2);
+            Assert.assertEquals(requests.get(0), new Request("POST", "/stub/leads", "application/json",
+                    Map.of("name", "testrama", "phone", "6000000001")));
+            Assert.assertEquals(requests.get(1), new Request("POST", "/stub/leads/42/property_details", "application/json",
+                    Map.of("bhk", "2BHK")));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void errorStatusFailsWithStatusAndBody() throws Exception {
+        HttpServer server = stub(new CopyOnWriteArrayList<>(), 422, "{\"error\": \"otp invalid\"}");
+        try {
+            IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                    () -> client(server).createLead(Map.of("otp", "0000")));
+            Assert.assertTrue(error.getMessage().contains("HTTP 422"), error.getMessage());
+            Assert.assertTrue(error.getMessage().contains("otp invalid"), error.getMessage());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void leadAnswerWithoutLeadIdFails() throws Exception {
+        HttpServer server = stub(new CopyOnWriteArrayList<>(), 200, "{}");
+        try {
+            IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                    () -> client(server).createLead(Map.of("name", "testrama")));
+            Assert.assertTrue(error.getMessage().contains("leadId"), error.getMessage());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void unreachableServerFails() throws Exception {
+        HttpServer server = stub(new CopyOnWriteArrayList<>(), 200, "{}");
+        HttpFunnelApiClient client = client(server);
+        server.stop(0);
+
+        Assert.expectThrows(IllegalStateException.class, () -> client.createLead(Map.of("name", "testrama")));
+    }
+
+    @Test
+    public void missingEndpointPathsFailLoudly() {
+        IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new HttpFunnelApiClient("http://127.0.0.1:1/", null, "/leads/{leadId}/{step}"));
+        Assert.assertTrue(error.getMessage().contains("FUNNEL_API_LEAD_PATH"), error.getMessage());
+        Assert.expectThrows(IllegalArgumentException.class, () -> new HttpFunnelApiClient("http://127.0.0.1:1/", "/leads", " "));
+    }
+}
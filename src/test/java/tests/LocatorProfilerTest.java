@@ -0,0 +1,65 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pageObject.BannerFormPage;
+import utilis.LocatorProfiler;
+import utilis.LocatorProfiler.LocatorInfo;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocatorProfilerTest {
+
+    private static LocatorInfo analyze(String kind, String expression) {
+        return LocatorProfiler.analyze(new LocatorInfo("test", kind, expression));
+    }
+
+    @Test
+    public void idXpathSuggestsById() {
+        LocatorInfo locator = analyze("xpath", "//button[@id='bfc']");
+
+        Assert.assertTrue(locator.getSuggestions().contains("By.id(\"bfc\")"), locator.getSuggestions().toString());
+    }
+
+    @Test
+    public void wildcardTextScanIsFlaggedAsDocumentWide() {
+        LocatorInfo wildcard = analyze("xpath", "//*[text()='%d' and not(contains(@class, 'disabled'))]");
+        LocatorInfo scoped = analyze("xpath", ".//span[text()='1']");
+
+        Assert.assertTrue(wildcard.getFindings().stream().anyMatch(f -> f.startsWith("document-wide scan of every element (//*)")));
+        Assert.assertTrue(wildcard.getScore() > scoped.getScore());
+    }
+
+    @Test
+    public void hashedClassSuggestsStablePrefix() {
+        LocatorInfo locator = analyze("xpath", "//div[@class='BFC_flowSteps_selectOption_section__32fyK']//button");
+
+        Assert.assertTrue(locator.getSuggestions().contains("match the stable part of the class: [class*='BFC_flowSteps_selectOption_section__']"),
+                locator.getSuggestions().toString());
+    }
+
+    @Test
+    public void discoversAnnotatedAndSourceLocators() {
+        List<LocatorInfo> annotated = LocatorProfiler.fromAnnotations(List.of(BannerFormPage.class));
+        List<LocatorInfo> dynamic = LocatorProfiler.fromSources(Paths.get("src/main/java/pageObject"));
+
+        Assert.assertTrue(annotated.stream().anyMatch(l -> l.getOrigin().equals("BannerFormPage.bookSessionButton")
+                && l.getKind().equals("xpath") && l.getExpression().equals("//button[@id='bfc']")));
+        Assert.assertTrue(annotated.stream().anyMatch(l -> l.getKind().equals("id") && l.getExpression().equals("city_dropdown_0")));
+        Assert.assertFalse(dynamic.isEmpty());
+        Assert.assertTrue(dynamic.stream().allMatch(l -> l.getKind().equals("xpath") || l.getKind().equals("cssSelector")));
+    }
+
+    @Test
+    public void rankPutsExpensiveLocatorsFirst() {
+        List<LocatorInfo> locators = new ArrayList<>(List.of(analyze("id", "bfc"),
+                analyze("xpath", "//*[contains(text(), 'SUBMIT')]"), analyze("cssSelector", "input[placeholder='Enter OTP']")));
+
+        LocatorProfiler.rank(locators);
+
+        Assert.assertEquals(locators.get(0).getKind(), "xpath");
+        Assert.assertEquals(locators.get(2).getKind(), "id");
+    }
+}
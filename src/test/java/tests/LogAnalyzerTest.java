@@ -0,0 +1,106 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.LogAnalyzer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class LogAnalyzerTest {
+
+    private static final String FIRST_RUN = """
+            2026-01-05 10:00:00.000 [main] INFO  configurator.SuiteMetricsListener - Suite run started: Surefire suite
+            2026-01-05 10:00:01.000 [w1] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Starting banner form fill process
+            2026-01-05 10:00:01.100 [w1] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Entering name: testrama
+            2026-01-05 10:00:01.600 [w1] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Name entered successfully
+            2026-01-05 10:00:02.000 [w1] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Waiting for page to settle
+            2026-01-05 10:00:04.000 [w1] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Banner form fill process completed
+            2026-01-05 10:00:05.000 [w1] INFO  pageObject.PropertyDetailsPage - Selecting Apartment option
+            2026-01-05 10:00:15.000 [w1] ERROR pageObject.PropertyDetailsPage - Failed to select apartment: Expected condition failed: waiting for 'x'
+            org.openqa.selenium.TimeoutException: Expected condition failed
+            \tat org.openqa.selenium.support.ui.WebDriverWait.timeoutException(WebDriverWait.java:84)
+            """;
+
+    private static final String SECOND_RUN = """
+            2026-01-06 10:00:00.000 [main] INFO  configurator.SuiteMetricsListener - Suite run started: Surefire suite
+            2026-01-06 10:00:01.000 [w2] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Entering name: testrama
+            2026-01-06 10:00:01.300 [w2] INFO  pageObject.BannerFormPage [prod|BannerSignInTest.run] - Name entered successfully
+            """;
+
+    @Test
+    public void pairsSpansAndCountsFailures() throws Exception {
+        Path log = Files.createTempFile("test-execution", ".log");
+        Files.writeString(log, FIRST_RUN, StandardCharsets.UTF_8);
+
+        LogAnalyzer analyzer = new LogAnalyzer(5, 30 * 60_000);
+        analyzer.analyze(List.of(log), Map.of());
+
+        Map<String, LogAnalyzer.StepStats> steps = analyzer.steps();
+        Assert.assertEquals(steps.get("BannerFormPage.Entering name").maxMillis(), 500);
+        // The "Waiting for" progress line must not take the outer span's closing line
+        Assert.assertEquals(steps.get("BannerFormPage.Starting banner form fill process").maxMillis(), 3000);
+        Assert.assertEquals(steps.get("PropertyDetailsPage.Selecting Apartment option").failures(), 1);
+        Assert.assertEquals(((List<?>) analyzer.report().get("runs")).size(), 1);
+    }
+
+    @Test
+    public void incrementalRunResumesAfterLastCompleteLine() throws Exception {
+        Path log = Files.createTempFile("test-execution", ".log");
+        // The last line is still being written and must be read again next time
+        Files.writeString(log, FIRST_RUN + "2026-01-05 10:00:20.000 [w1] INFO  pageObject.Ba", StandardCharsets.UTF_8);
+
+        Map<Path, Long> offsets = new LogAnalyzer(5, 30 * 60_000).analyze(List.of(log), Map.of());
+        long firstEnd = offsets.get(log.toAbsolutePath().normalize());
+        Assert.assertEquals(firstEnd, FIRST_RUN.getBytes(StandardCharsets.UTF_8).length);
+
+        Files.writeString(log, "nnerFormPage - Banner form initialized\n" + SECOND_RUN, StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        LogAnalyzer incremental = new LogAnalyzer(5, 30 * 60_000);
+        Map<Path, Long> next = incremental.analyze(List.of(log), offsets);
+
+        Assert.assertEquals(incremental.steps().get("BannerFormPage.Entering name").count(), 1);
+        Assert.assertEquals(incremental.steps().get("BannerFormPage.Entering name").maxMillis(), 300);
+        Assert.assertNull(incremental.steps().get("PropertyDetailsPage.Selecting Apartment option"));
+        Assert.assertEquals((long) next.get(log.toAbsolutePath().normalize()), Files.size(log));
+    }
+
+    @Test
+    public void selectDateIsTimedFromItsFirstLineDespiteProgressLines() throws Exception {
+        Path log = Files.createTempFile("test-execution", ".log");
+        Files.writeString(log, """
+                2026-01-05 10:00:00.000 [w1] INFO  pageObject.MeetingSchedulePage - Selecting date: 19-1-2026
+                2026-01-05 10:00:00.400 [w1] INFO  pageObject.MeetingSchedulePage - Date dropdown clicked
+                2026-01-05 10:00:00.500 [w1] INFO  pageObject.MeetingSchedulePage - Waiting for datepicker calendar to load
+                2026-01-05 10:00:05.000 [w1] INFO  pageObject.MeetingSchedulePage - Looking for date: 19
+                2026-01-05 10:00:05.100 [w1] INFO  pageObject.MeetingSchedulePage - Looking for aria-label: Choose Monday, January 19th, 2026
+                2026-01-05 10:00:05.500 [w1] INFO  pageObject.MeetingSchedulePage - Date selected successfully: 19-1-2026
+                """, StandardCharsets.UTF_8);
+
+        LogAnalyzer analyzer = new LogAnalyzer(5, 30 * 60_000);
+        analyzer.analyze(List.of(log), Map.of());
+
+        Assert.assertEquals(analyzer.steps().keySet(), Set.of("MeetingSchedulePage.Selecting date"));
+        Assert.assertEquals(analyzer.steps().get("MeetingSchedulePage.Selecting date").maxMillis(), 5500);
+        Assert.assertEquals(analyzer.report().get("unclosedSpans"), 0L);
+    }
+
+    @Test
+    public void backToBackRunsAreSplitAtTheRunStartLine() throws Exception {
+        Path log = Files.createTempFile("test-execution", ".log");
+        // The second run starts a few seconds after the first, well inside the gap
+        Files.writeString(log, FIRST_RUN + SECOND_RUN.replace("2026-01-06 10:00:0", "2026-01-05 10:00:2"),
+                StandardCharsets.UTF_8);
+
+        LogAnalyzer analyzer = new LogAnalyzer(5, 30 * 60_000);
+        analyzer.analyze(List.of(log), Map.of());
+
+        Assert.assertEquals(((List<?>) analyzer.report().get("runs")).size(), 2);
+        Assert.assertEquals(analyzer.steps().get("BannerFormPage.Entering name").count(), 2);
+    }
+}
@@ -0,0 +1,52 @@
+package tests;
+
+import api.FunnelFastPath;
+import api.FunnelStep;
+import api.HttpFunnelApiClient;
+import configurator.BaseClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pageObject.MeetingSchedulePage;
+import pageObject.Pages;
+import utilis.TestDataService;
+import utilis.Utilities;
+
+/**
+ * Tests MeetingSchedulePage on its own: the lead, property details and planning
+ * options are created over HTTP and the browser starts at the meeting step.
+ * Skipped unless FUNNEL_API_BASE_URL points at the funnel API or a local stub.
+ */
+public class MeetingScheduleFastPathTest extends BaseClass {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeetingScheduleFastPathTest.class);
+
+    @BeforeMethod
+    public void setup() {
+        HttpFunnelApiClient client = HttpFunnelApiClient.fromConfig();
+        if (client == null) {
+            throw new SkipException("FUNNEL_API_BASE_URL is not configured");
+        }
+
+        logger.info("========== Starting Meeting Schedule Fast Path Test ==========");
+        initializeDriver();
+
+        TestDataService.TestIdentity identity = TestDataService.nextIdentity();
+        FunnelFastPath.openAt(getDriver(), FunnelStep.MEETING_SCHEDULE, client,
+                new FunnelFastPath.FunnelAnswers(identity.name(), identity.phoneNumber(), dotenv.get("SING_UP_OTP")));
+    }
+
+    @Test
+    public void scheduleMeetingFromSeededLead() {
+        Pages.get(MeetingSchedulePage.class).scheduleMeeting(Utilities.getTomorrowDate(), dotenv.get("SHOWROOM"));
+        logger.info("✅ Meeting scheduled from seeded lead");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        closeDriver();
+    }
+}
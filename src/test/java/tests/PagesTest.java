@@ -0,0 +1,41 @@
+package tests;
+
+import configurator.DriverManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import pageObject.BannerFormPage;
+import pageObject.MeetingSchedulePage;
+import pageObject.Pages;
+
+public class PagesTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void unbindDriver() {
+        DriverManager.quitDriver();
+        Pages.clear();
+    }
+
+    @Test
+    public void pageObjectIsReusedForTheSameDriver() {
+        DriverManager.setDriver(FakeDriver.create().build());
+
+        BannerFormPage first = Pages.get(BannerFormPage.class);
+        Assert.assertSame(Pages.get(BannerFormPage.class), first);
+        Assert.assertNotSame(Pages.get(MeetingSchedulePage.class), Pages.get(BannerFormPage.class));
+    }
+
+    @Test
+    public void pageObjectsAreRebuiltForANewDriver() {
+        DriverManager.setDriver(FakeDriver.create().build());
+        BannerFormPage first = Pages.get(BannerFormPage.class);
+
+        DriverManager.setDriver(FakeDriver.create().build());
+        Assert.assertNotSame(Pages.get(BannerFormPage.class), first);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void pageObjectNeedsADriver() {
+        Pages.get(BannerFormPage.class);
+    }
+}
@@ -0,0 +1,52 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.PerformanceBudgets;
+import utilis.PerformanceMetrics;
+
+import java.util.List;
+import java.util.Map;
+
+public class PerformanceBudgetsTest {
+
+    private static final Map<String, Double> LIMITS = Map.of(
+            "*.lcpMs", 4000.0,
+            "BannerFormPage.clickSubmit.lcpMs", 2500.0,
+            "*.cls", 0.1);
+
+    private static PerformanceMetrics.Sample sample(String step, Map<String, Number> metrics) {
+        return new PerformanceMetrics.Sample(step, "prod", 0, metrics);
+    }
+
+    @Test
+    public void stepLimitOverridesWildcard() {
+        PerformanceBudgets budgets = new PerformanceBudgets(LIMITS, "warn");
+
+        Assert.assertEquals(budgets.limitFor("BannerFormPage.clickSubmit", "lcpMs"), 2500.0);
+        Assert.assertEquals(budgets.limitFor("PlanningOptionsPage.clickNext", "lcpMs"), 4000.0);
+        Assert.assertNull(budgets.limitFor("PlanningOptionsPage.clickNext", "transferBytes"));
+    }
+
+    @Test
+    public void warnModeRecordsViolations() {
+        PerformanceBudgets budgets = new PerformanceBudgets(LIMITS, "warn");
+
+        List<String> exceeded = budgets.check(sample("BannerFormPage.clickSubmit", Map.of("lcpMs", 3000, "cls", 0.05)));
+
+        Assert.assertEquals(exceeded.size(), 1);
+        Assert.assertEquals(budgets.violations().get(0).get("metric"), "lcpMs");
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void failModeFailsTheStep() {
+        new PerformanceBudgets(LIMITS, "fail").check(sample("MeetingSchedulePage.clickSubmit", Map.of("cls", 0.3)));
+    }
+
+    @Test
+    public void offModeIgnoresBudgets() {
+        PerformanceBudgets budgets = new PerformanceBudgets(LIMITS, "off");
+
+        Assert.assertTrue(budgets.check(sample("BannerFormPage.clickSubmit", Map.of("lcpMs", 9000))).isEmpty());
+    }
+}
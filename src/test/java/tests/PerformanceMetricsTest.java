@@ -0,0 +1,100 @@
+package tests;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.PerformanceMetrics;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class PerformanceMetricsTest {
+
+    private static Map<String, Object> totals(double scriptSeconds, double taskSeconds, long heapBytes, long nodes) {
+        return Map.of("metrics", List.of(
+                Map.of("name", "ScriptDuration", "value", scriptSeconds),
+                Map.of("name", "TaskDuration", "value", taskSeconds),
+                Map.of("name", "JSHeapUsedSize", "value", heapBytes),
+                Map.of("name", "Nodes", "value", nodes),
+                Map.of("name", "Documents", "value", 1)));
+    }
+
+    /**
+     * Chrome-like driver whose page always reports activity and whose DevTools totals come from the list.
+     */
+    private static WebDriver fakeDriver(Iterator<Map<String, Object>> devToolsTotals) {
+        return fakeDriver(devToolsTotals, () -> Map.of("resourceCount", 1L));
+    }
+
+    private static WebDriver fakeDriver(Iterator<Map<String, Object>> devToolsTotals, Supplier<Map<String, Object>> page) {
+        return FakeDriver.create().with(HasCdp.class)
+                .on("executeAsyncScript", args -> page.get())
+                .on("executeCdpCommand", args -> "Performance.getMetrics".equals(args[0]) ? devToolsTotals.next() : Map.of())
+                .build();
+    }
+
+    private static Map<String, Number> metricsOf(String step) {
+        return PerformanceMetrics.samples().stream().filter(sample -> sample.step().equals(step))
+                .findFirst().orElseThrow().metrics();
+    }
+
+    @Test
+    public void devToolsTotalsAreRecordedAsChangePerStep() {
+        WebDriver driver = fakeDriver(List.of(
+                totals(0.200, 0.500, 10_000_000, 1_000),
+                totals(0.250, 0.700, 12_000_000, 900)).iterator());
+
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.first");
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.second");
+
+        Map<String, Number> first = metricsOf("PerformanceMetricsTest.first");
+        Assert.assertEquals(first.get("scriptDurationMs"), 200L);
+        Assert.assertFalse(first.containsKey("jsHeapUsedDeltaBytes"), first.toString());
+
+        Map<String, Number> second = metricsOf("PerformanceMetricsTest.second");
+        Assert.assertEquals(second.get("scriptDurationMs"), 50L);
+        Assert.assertEquals(second.get("taskDurationMs"), 200L);
+        Assert.assertEquals(second.get("jsHeapUsedDeltaBytes"), 2_000_000L);
+        Assert.assertEquals(second.get("domNodesDelta"), -100L);
+    }
+
+    @Test
+    public void actionWithoutPageActivityStillMovesTheDevToolsBaseline() {
+        Iterator<Map<String, Object>> page = List.<Map<String, Object>>of(
+                Map.of("resourceCount", 1L), Map.of(), Map.of("resourceCount", 1L)).iterator();
+        WebDriver driver = fakeDriver(List.of(
+                totals(0.100, 0.100, 10_000_000, 1_000),
+                totals(0.400, 0.400, 10_000_000, 1_000),
+                totals(0.450, 0.500, 10_000_000, 1_000)).iterator(), page::next);
+
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.before");
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.quiet");
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.after");
+
+        Assert.assertEquals(metricsOf("PerformanceMetricsTest.quiet").get("scriptDurationMs"), 300L);
+        Assert.assertEquals(metricsOf("PerformanceMetricsTest.after").get("scriptDurationMs"), 50L);
+    }
+
+    @Test
+    public void compositeStepAddsUpTheActionsItCalled() {
+        WebDriver driver = fakeDriver(List.of(
+                totals(0.100, 0.100, 10_000_000, 1_000),
+                totals(0.300, 0.300, 10_000_000, 1_000),
+                totals(0.600, 0.600, 10_000_000, 1_000),
+                totals(0.700, 0.700, 10_000_000, 1_000)).iterator());
+
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.earlier");
+        long start = System.nanoTime();
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.child", System.nanoTime());
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.otherChild", System.nanoTime());
+        PerformanceMetrics.capture(driver, "PerformanceMetricsTest.composite", start);
+
+        Map<String, Number> composite = metricsOf("PerformanceMetricsTest.composite");
+        Assert.assertEquals(composite.get("scriptDurationMs"), 600L);
+        Assert.assertEquals(composite.get("resourceCount"), 3L);
+        Assert.assertEquals(metricsOf("PerformanceMetricsTest.child").get("scriptDurationMs"), 200L);
+    }
+}
@@ -0,0 +1,70 @@
+package tests;
+
+import configurator.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterSuite;
+import utilis.PerformanceBaseline;
+import utilis.RegressionGate;
+import utilis.StepMetrics;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Performance gate of the run: after all tests, compares the step durations of this
+ * run with the stored baseline and warns or fails on regressions.
+ *
+ * <p>Settings (env file or -D):
+ * <ul>
+ *     <li>PERF_GATE_MODE - off, warn or fail (default warn)</li>
+ *     <li>PERF_BASELINE_UPDATE - add this run to the baseline when no step failed (default false)</li>
+ * </ul>
+ */
+public class PerformanceRegressionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceRegressionTest.class);
+
+    @AfterSuite(alwaysRun = true)
+    public void checkForRegressions() {
+        String mode = FrameworkConfig.getString("PERF_GATE_MODE", "warn").toLowerCase();
+        if ("off".equals(mode) || StepMetrics.samples().isEmpty()) {
+            return;
+        }
+
+        PerformanceBaseline baseline = PerformanceBaseline.fromConfig();
+        List<RegressionGate.StepComparison> comparisons = RegressionGate.fromConfig().compareCurrentRun(baseline);
+        RegressionGate.export(Paths.get(FrameworkConfig.getString("METRICS_DIR", "target/metrics")), comparisons);
+
+        List<RegressionGate.StepComparison> regressions = comparisons.stream()
+                .filter(RegressionGate.StepComparison::regressed).toList();
+        for (RegressionGate.StepComparison regression : regressions) {
+            logger.warn("Performance regression in {} ({}): p95 {} ms -> {} ms ({}%), p={}", regression.step(),
+                    regression.env(), regression.baselineP95(), regression.currentP95(),
+                    Math.round(regression.p95ChangePct()), String.format("%.4f", regression.pValue()));
+        }
+        logger.info("Performance gate: {} steps compared, {} judged, {} regressed", comparisons.size(),
+                comparisons.stream().filter(RegressionGate.StepComparison::judged).count(), regressions.size());
+
+        if (FrameworkConfig.getBoolean("PERF_BASELINE_UPDATE", false)) {
+            if (failedSteps() == 0) {
+                StepMetrics.samples().forEach((key, values) -> baseline.add(key.env(),
+                        key.page() + "." + key.action(), Arrays.stream(values).boxed().toList()));
+                baseline.save();
+            } else {
+                logger.warn("Baseline not updated: the run had failed steps");
+            }
+        }
+
+        if ("fail".equals(mode) && !regressions.isEmpty()) {
+            Assert.fail(regressions.size() + " steps regressed against the performance baseline: "
+                    + regressions.stream().map(RegressionGate.StepComparison::step).toList());
+        }
+    }
+
+    private static long failedSteps() {
+        return StepMetrics.snapshot().stream().mapToLong(StepMetrics.Summary::failures).sum();
+    }
+}
@@ -0,0 +1,61 @@
+package tests;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.ReadyCondition;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class ReadyConditionTest {
+
+    // Answers every executeScript with the next result and records the arguments it was given
+    private static WebDriver fakeDriver(List<Object[]> calls, Iterator<Map<String, Object>> results) {
+        return FakeDriver.create().onScript((script, args) -> {
+            calls.add(args);
+            return results.next();
+        }).build();
+    }
+
+    @Test
+    public void everyPollIsOneScriptAndReportsWhatBlocksTheElement() {
+        WebElement option = FakeDriver.element("timeSlotOption");
+        List<Object[]> calls = new ArrayList<>();
+        WebDriver driver = fakeDriver(calls, List.<Map<String, Object>>of(
+                Map.of("state", "loader showing"),
+                Map.of("state", "covered by div.overlay"),
+                Map.of("state", "ready")).iterator());
+        ReadyCondition condition = ReadyCondition.clickable(option);
+
+        Assert.assertNull(condition.apply(driver));
+        Assert.assertEquals(condition.lastState(), "loader showing");
+        Assert.assertNull(condition.apply(driver));
+        Assert.assertTrue(condition.toString().contains("covered by div.overlay"), condition.toString());
+        Assert.assertSame(condition.apply(driver), option);
+
+        Assert.assertEquals(calls.size(), 3);
+        Assert.assertSame(calls.get(0)[0], option);
+    }
+
+    @Test
+    public void locatorIsLookedUpInsideTheScript() {
+        WebElement found = FakeDriver.element("timeSlotOption");
+        List<Object[]> calls = new ArrayList<>();
+        WebDriver driver = fakeDriver(calls, List.<Map<String, Object>>of(Map.of("state", "ready", "element", found)).iterator());
+
+        WebElement ready = ReadyCondition.clickable(By.id("budgetDropValueStep_3")).loader(null).apply(driver);
+
+        Assert.assertSame(ready, found);
+        Assert.assertEquals(calls.size(), 1);
+        Object[] args = calls.get(0);
+        Assert.assertNull(args[0]);
+        Assert.assertEquals(args[1], "css");
+        Assert.assertEquals(args[2], "[id=\"budgetDropValueStep_3\"]");
+        Assert.assertNull(args[3]);
+    }
+}
@@ -0,0 +1,63 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.RegressionGate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RegressionGateTest {
+
+    private static List<Long> durations(long from, long step, int count) {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(from + i * step);
+        }
+        return values;
+    }
+
+    @Test
+    public void clearSlowdownRegresses() {
+        RegressionGate gate = new RegressionGate(20, 0.05, 5);
+
+        RegressionGate.StepComparison result = gate.compare("prod", "PropertyDetailsPage.searchAndSelectProperty",
+                durations(1000, 10, 30), durations(1500, 10, 30));
+
+        Assert.assertTrue(result.judged());
+        Assert.assertTrue(result.regressed());
+        Assert.assertTrue(result.pValue() < 0.001);
+    }
+
+    @Test
+    public void singleOutlierDoesNotRegress() {
+        RegressionGate gate = new RegressionGate(20, 0.05, 5);
+        List<Long> current = durations(1000, 10, 30);
+        current.set(28, 5000L);
+        current.set(29, 5000L);
+
+        RegressionGate.StepComparison result = gate.compare("prod", "BannerFormPage.clickSubmit",
+                durations(1000, 10, 30), current);
+
+        Assert.assertTrue(result.p95ChangePct() > 20);
+        Assert.assertFalse(result.regressed());
+    }
+
+    @Test
+    public void tooFewSamplesAreNotJudged() {
+        RegressionGate gate = new RegressionGate(20, 0.05, 5);
+
+        RegressionGate.StepComparison result = gate.compare("prod", "BannerFormPage.clickSubmit",
+                durations(1000, 10, 30), List.of(9000L, 9000L));
+
+        Assert.assertFalse(result.judged());
+        Assert.assertFalse(result.regressed());
+    }
+
+    @Test
+    public void identicalDistributionsAreNotSignificant() {
+        double p = RegressionGate.mannWhitneyGreater(durations(100, 5, 20), durations(100, 5, 20));
+
+        Assert.assertTrue(p > 0.4, "p=" + p);
+    }
+}
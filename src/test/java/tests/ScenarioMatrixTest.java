@@ -0,0 +1,73 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pageObject.PlanningOptionsPage;
+import pageObject.PropertyDetailsPage;
+import utilis.PairwiseGenerator;
+import utilis.ScenarioResultCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ScenarioMatrixTest {
+
+    private static Map<String, List<String>> options() {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("propertyType", List.of("Apartment", "Villa", "Independent Home"));
+        options.put("bhk", List.of("1BHK", "2BHK", "3BHK"));
+        options.put("budget", List.of("1", "2", "3"));
+        options.put("possession", List.of("1", "2", "3", "4"));
+        return options;
+    }
+
+    @Test
+    public void pairwiseCoversEveryPairWithFewerRows() {
+        Map<String, List<String>> options = options();
+        List<Map<String, String>> rows = PairwiseGenerator.cover(options, 2);
+
+        List<String> names = List.copyOf(options.keySet());
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = i + 1; j < names.size(); j++) {
+                for (String a : options.get(names.get(i))) {
+                    for (String b : options.get(names.get(j))) {
+                        String first = names.get(i);
+                        String second = names.get(j);
+                        Assert.assertTrue(rows.stream().anyMatch(row -> row.get(first).equals(a) && row.get(second).equals(b)),
+                                first + "=" + a + ", " + second + "=" + b + " not covered");
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(rows.size() < 3 * 3 * 3 * 4 / 3, "rows: " + rows.size());
+        Assert.assertEquals(PairwiseGenerator.cover(options, 2), rows);
+    }
+
+    @Test
+    public void fullStrengthIsTheCartesianProduct() {
+        Assert.assertEquals(PairwiseGenerator.cover(options(), 4).size(), 3 * 3 * 3 * 4);
+    }
+
+    @Test
+    public void cachedPassExpiresAndDependsOnPageCode() throws Exception {
+        Path file = Files.createTempDirectory("scenario-cache").resolve("results.json");
+        Clock start = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        Map<String, String> variant = Map.of("propertyType", "Villa", "bhk", "2BHK");
+        String key = ScenarioResultCache.key("prod", variant, PropertyDetailsPage.class);
+
+        new ScenarioResultCache(file, Duration.ofHours(24), start).recordPass(key);
+
+        Assert.assertTrue(new ScenarioResultCache(file, Duration.ofHours(24), start).hasPassed(key));
+        Assert.assertFalse(new ScenarioResultCache(file, Duration.ofHours(24), Clock.offset(start, Duration.ofHours(25)))
+                .hasPassed(key));
+        Assert.assertNotEquals(ScenarioResultCache.key("preprod", variant, PropertyDetailsPage.class), key);
+        Assert.assertNotEquals(ScenarioResultCache.key("prod", variant, PlanningOptionsPage.class), key);
+    }
+}
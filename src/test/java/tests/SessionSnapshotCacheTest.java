@@ -0,0 +1,68 @@
+package tests;
+
+import configurator.BrowserSession;
+import configurator.SessionSnapshotCache;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class SessionSnapshotCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    public void savedSessionIsLoadedBack() throws Exception {
+        Path dir = Files.createTempDirectory("sessions");
+        SessionSnapshotCache cache = new SessionSnapshotCache(dir, Duration.ofMinutes(30), clockAt(NOW));
+
+        Cookie cookie = new Cookie.Builder("auth", "token-1").path("/")
+                .expiresOn(Date.from(NOW.plus(Duration.ofDays(1)))).isHttpOnly(true).build();
+        cache.save("9000000001", new BrowserSession(List.of(cookie), Map.of("lead", "42"), Map.of("step", "2")));
+
+        Optional<BrowserSession> loaded = cache.load("9000000001");
+        Assert.assertTrue(loaded.isPresent());
+        Assert.assertEquals(loaded.get().getCookies().get(0).getValue(), "token-1");
+        Assert.assertEquals(loaded.get().getCookies().get(0).getExpiry(), cookie.getExpiry());
+        Assert.assertEquals(loaded.get().getLocalStorage(), Map.of("lead", "42"));
+        Assert.assertEquals(loaded.get().getSessionStorage(), Map.of("step", "2"));
+    }
+
+    @Test
+    public void snapshotOlderThanTtlIsEvicted() throws Exception {
+        Path dir = Files.createTempDirectory("sessions");
+        new SessionSnapshotCache(dir, Duration.ofMinutes(30), clockAt(NOW))
+                .save("9000000002", new BrowserSession(List.of(new Cookie("auth", "token-2", "/")), Map.of(), Map.of()));
+
+        SessionSnapshotCache later = new SessionSnapshotCache(dir, Duration.ofMinutes(30),
+                clockAt(NOW.plus(Duration.ofMinutes(31))));
+        Assert.assertTrue(later.load("9000000002").isEmpty());
+        Assert.assertFalse(Files.exists(dir.resolve("9000000002.json")));
+    }
+
+    @Test
+    public void snapshotWithOnlyExpiredCookiesIsEvicted() throws Exception {
+        Path dir = Files.createTempDirectory("sessions");
+        SessionSnapshotCache cache = new SessionSnapshotCache(dir, Duration.ofMinutes(30), clockAt(NOW));
+        Cookie expired = new Cookie.Builder("auth", "token-3").path("/")
+                .expiresOn(Date.from(NOW.minus(Duration.ofMinutes(1)))).build();
+        cache.save("9000000003", new BrowserSession(List.of(expired), Map.of(), Map.of()));
+
+        Assert.assertTrue(cache.load("9000000003").isEmpty());
+        Assert.assertFalse(Files.exists(dir.resolve("9000000003.json")));
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
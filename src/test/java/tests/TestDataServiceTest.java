@@ -0,0 +1,111 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utilis.TestDataService;
+import utilis.TestDataService.Sequences;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestDataServiceTest {
+
+    private static Path hwmFile() throws Exception {
+        Path file = Files.createTempFile("test-data", ".hwm");
+        Files.delete(file);
+        return file;
+    }
+
+    @Test
+    public void phoneNumbersAreUniqueAcrossThreadsAndJvmsSharingTheFile() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        Path file = hwmFile();
+        // Two instances on one file stand in for two JVMs sharing the high-water mark
+        List<Sequences> jvms = List.of(new Sequences(file, 0, 100_000_000L), new Sequences(file, 0, 100_000_000L));
+        Set<String> phoneNumbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Sequences sequences = jvms.get(t % 2);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        phoneNumbers.add(TestDataService.identity(sequences.next()).phoneNumber());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(phoneNumbers.size(), threads * perThread, "Duplicate phone numbers were handed out");
+        for (String phoneNumber : phoneNumbers) {
+            Assert.assertTrue(phoneNumber.matches("\\d{10}"), "Not a 10-digit phone number: " + phoneNumber);
+        }
+    }
+
+    @Test
+    public void highWaterMarkIsPersisted() throws Exception {
+        Path file = hwmFile();
+        long sequence = new Sequences(file, 0, 100_000_000L).next();
+
+        long highWaterMark = Long.parseLong(Files.readString(file).trim());
+        Assert.assertTrue(highWaterMark > sequence,
+                "High-water mark " + highWaterMark + " must be above handed out sequence " + sequence);
+        Assert.assertTrue(new Sequences(file, 0, 100_000_000L).next() >= highWaterMark,
+                "A later run must continue above the stored mark");
+    }
+
+    @Test
+    public void partitionsAreDisjointWithoutSharingAFile() throws Exception {
+        String file = hwmFile().toString();
+        long first = Sequences.configured("0", 100_000, file).next();
+        long second = Sequences.configured("1", 100_000, hwmFile().toString()).next();
+
+        Assert.assertEquals(first, 0L);
+        Assert.assertEquals(second, 100_000L);
+        Assert.expectThrows(IllegalArgumentException.class, () -> Sequences.configured("1000", 100_000, file));
+        Assert.expectThrows(IllegalArgumentException.class, () -> Sequences.configured("run-4711", 100_000, file));
+    }
+
+    @Test
+    public void usedUpRangeFailsInsteadOfWrapping() throws Exception {
+        Path file = hwmFile();
+        Files.writeString(file, "90000");
+        Sequences sequences = new Sequences(file, 0, 100_000);
+
+        Assert.assertEquals(sequences.next(), 90_000L);
+        Assert.assertEquals(Files.readString(file), "100000");
+        Assert.expectThrows(IllegalStateException.class, () -> new Sequences(file, 0, 100_000).next());
+    }
+
+    @Test
+    public void missingPartitionAndSharedFileFailsFast() {
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                () -> Sequences.configured(null, 100_000, null));
+        Assert.assertTrue(error.getMessage().contains("TEST_DATA_PARTITION"), error.getMessage());
+    }
+
+    @Test
+    public void identityValuesShareOneSequence() {
+        TestDataService.TestIdentity first = TestDataService.identity(4711);
+        TestDataService.TestIdentity second = TestDataService.identity(4712);
+
+        Assert.assertEquals(first.phoneNumber(), "6000004711");
+        Assert.assertNotEquals(first.name(), second.name());
+        Assert.assertEquals(first.address(), "Flat 4711, TestYantra Software Solutions, Somajiguda, Hyderabad, Telangana, India");
+        Assert.assertTrue(first.name().matches("[A-Za-z]+"), "Name should contain letters only: " + first.name());
+    }
+}
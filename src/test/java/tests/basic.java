@@ -1,6 +1,7 @@
 package tests;
 
 import configurator.BaseClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
 public class basic extends BaseClass{
@@ -10,4 +11,9 @@ public class basic extends BaseClass{
         initializeDriver();
         System.out.println("Sample Test Executed");
     }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        closeDriver();
+    }
 }